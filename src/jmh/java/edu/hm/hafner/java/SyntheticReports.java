@@ -0,0 +1,150 @@
+package edu.hm.hafner.java;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.analysis.Severity;
+
+/**
+ * Creates synthetic reports and report files for the benchmarks. The issues are distributed over a fixed number of
+ * files, packages, modules, categories, and types so that the distributions of the reports have a realistic size.
+ */
+public final class SyntheticReports {
+    private static final Severity[] SEVERITIES = {
+            Severity.ERROR, Severity.WARNING_HIGH, Severity.WARNING_NORMAL, Severity.WARNING_LOW};
+    private static final int FILES = 1000;
+    private static final int PACKAGES = 50;
+    private static final int MODULES = 10;
+    private static final int CATEGORIES = 8;
+    private static final int TYPES = 40;
+
+    /**
+     * Creates a report with the specified number of issues.
+     *
+     * @param size
+     *         the number of issues
+     *
+     * @return the report
+     */
+    public static Report createReport(final int size) {
+        Report report = new Report("pmd", "PMD", "benchmark-" + size);
+        try (IssueBuilder builder = new IssueBuilder()) {
+            for (int i = 0; i < size; i++) {
+                report.add(builder.setFileName(getFileName(i))
+                        .setPackageName(getPackageName(i))
+                        .setModuleName("module-" + i % MODULES)
+                        .setCategory(getCategory(i))
+                        .setType(getType(i))
+                        .setSeverity(SEVERITIES[i % SEVERITIES.length])
+                        .setLineStart(i)
+                        .setMessage("Message " + i)
+                        .build());
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Writes a report file in the format of the specified static analysis tool to a new temporary file.
+     *
+     * @param tool
+     *         the ID of the tool, one of {@code pmd}, {@code checkstyle}, or {@code spotbugs}
+     * @param size
+     *         the number of issues
+     *
+     * @return the temporary file
+     */
+    public static Path writeReport(final String tool, final int size) {
+        try {
+            Path file = Files.createTempFile(tool + "-", ".xml");
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                switch (tool) {
+                    case "pmd":
+                        writePmd(writer, size);
+                        break;
+                    case "checkstyle":
+                        writeCheckStyle(writer, size);
+                        break;
+                    case "spotbugs":
+                        writeSpotBugs(writer, size);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("No synthetic report available for " + tool);
+                }
+            }
+            return file;
+        }
+        catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static void writePmd(final BufferedWriter writer, final int size) throws IOException {
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<pmd version=\"6.48.0\">\n");
+        for (int i = 0; i < size; i++) {
+            writer.write(String.format("<file name=\"/src/%s\">%n"
+                            + "<violation beginline=\"%d\" endline=\"%d\" begincolumn=\"1\" endcolumn=\"10\" "
+                            + "rule=\"%s\" ruleset=\"%s\" package=\"%s\" class=\"Class%d\" priority=\"%d\">"
+                            + "Message %d</violation>%n</file>%n",
+                    getFileName(i), i, i, getType(i), getCategory(i), getPackageName(i), i % FILES, i % 5 + 1, i));
+        }
+        writer.write("</pmd>\n");
+    }
+
+    private static void writeCheckStyle(final BufferedWriter writer, final int size) throws IOException {
+        String[] severities = {"error", "warning", "info"};
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<checkstyle version=\"10.3.2\">\n");
+        for (int i = 0; i < size; i++) {
+            writer.write(String.format("<file name=\"/src/%s\">%n"
+                            + "<error line=\"%d\" column=\"1\" severity=\"%s\" message=\"Message %d\" "
+                            + "source=\"com.puppycrawl.tools.checkstyle.checks.%s.%sCheck\"/>%n</file>%n",
+                    getFileName(i), i, severities[i % severities.length], i,
+                    getCategory(i).toLowerCase(Locale.ENGLISH), getType(i)));
+        }
+        writer.write("</checkstyle>\n");
+    }
+
+    private static void writeSpotBugs(final BufferedWriter writer, final int size) throws IOException {
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<BugCollection version=\"4.7.1\" sequence=\"0\" timestamp=\"0\" analysisTimestamp=\"0\" "
+                + "release=\"\">\n"
+                + "<Project projectName=\"benchmark\"><SrcDir>/src</SrcDir></Project>\n");
+        for (int i = 0; i < size; i++) {
+            String className = getPackageName(i) + ".Class" + i % FILES;
+            String sourceLine = String.format("<SourceLine classname=\"%s\" start=\"%d\" end=\"%d\" "
+                    + "sourcefile=\"Class%d.java\" sourcepath=\"%s\"/>", className, i, i, i % FILES, getFileName(i));
+            writer.write(String.format("<BugInstance type=\"%s\" priority=\"%d\" rank=\"%d\" abbrev=\"%s\" "
+                            + "category=\"%s\">%n<Class classname=\"%s\">%s</Class>%n%s%n</BugInstance>%n",
+                    getType(i).toUpperCase(Locale.ENGLISH), i % 3 + 1, i % 20 + 1, getType(i),
+                    getCategory(i).toUpperCase(Locale.ENGLISH), className, sourceLine, sourceLine));
+        }
+        writer.write("</BugCollection>\n");
+    }
+
+    private static String getFileName(final int index) {
+        return String.format("edu/hm/hafner/package%d/Class%d.java", index % PACKAGES, index % FILES);
+    }
+
+    private static String getPackageName(final int index) {
+        return "edu.hm.hafner.package" + index % PACKAGES;
+    }
+
+    private static String getCategory(final int index) {
+        return "Category" + index % CATEGORIES;
+    }
+
+    private static String getType(final int index) {
+        return "Type" + index % TYPES;
+    }
+
+    private SyntheticReports() {
+        // prevents instantiation
+    }
+}
@@ -0,0 +1,116 @@
+package edu.hm.hafner.java.db;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.java.SyntheticReports;
+
+/**
+ * Measures the conversion of reports to entities and vice versa by the {@link Mapper}. The batch conversions are
+ * compared with the conversion of the issues one by one, the allocation rates are reported by the GC profiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+    /** The number of issues of the report. */
+    @Param({"1000", "100000"})
+    public int size;
+
+    private final Mapper mapper = new Mapper();
+    private Report report;
+    private ReportEntity entity;
+
+    /** Creates the report and the corresponding entity. */
+    @Setup
+    public void createReport() {
+        report = SyntheticReports.createReport(size);
+        entity = mapper.map(report);
+    }
+
+    /**
+     * Converts the report to an entity.
+     *
+     * @return the entity
+     */
+    @Benchmark
+    public ReportEntity mapReportToEntity() {
+        return mapper.map(report);
+    }
+
+    /**
+     * Converts the entity to a report.
+     *
+     * @return the report
+     */
+    @Benchmark
+    public Report mapEntityToReport() {
+        return mapper.map(entity);
+    }
+
+    /**
+     * Converts the issues of the entity one by one, each issue is created by a new builder.
+     *
+     * @return the issues
+     */
+    @Benchmark
+    public List<Issue> mapEntitiesOneByOne() {
+        List<Issue> issues = new ArrayList<>(entity.getIssues().size());
+        for (IssueEntity issueEntity : entity.getIssues()) {
+            issues.add(mapper.map(issueEntity));
+        }
+        return issues;
+    }
+
+    /**
+     * Converts the issues of the entity in a batch.
+     *
+     * @return the issues
+     */
+    @Benchmark
+    public List<Issue> mapEntitiesInBatch() {
+        return mapper.mapEntities(entity.getIssues());
+    }
+
+    /**
+     * Converts the issues of the report one by one.
+     *
+     * @return the entities
+     */
+    @Benchmark
+    public List<IssueEntity> mapIssuesOneByOne() {
+        List<IssueEntity> entities = new ArrayList<>(report.size());
+        for (Issue issue : report) {
+            entities.add(mapper.map(issue));
+        }
+        return entities;
+    }
+
+    /**
+     * Converts the issues of the report in a batch.
+     *
+     * @return the entities
+     */
+    @Benchmark
+    public List<IssueEntity> mapIssuesInBatch() {
+        return mapper.mapIssues(report.get());
+    }
+}
@@ -0,0 +1,72 @@
+package edu.hm.hafner.java.uc;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.java.SyntheticReports;
+
+/**
+ * Measures the creation of {@link IssuePropertyDistribution distributions} from the issues of a report in memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DistributionBenchmark {
+    /** The number of issues of the report. */
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private Report report;
+
+    /** Creates the report. */
+    @Setup
+    public void createReport() {
+        report = SyntheticReports.createReport(size);
+    }
+
+    /**
+     * Creates the distribution of the categories.
+     *
+     * @return the distribution
+     */
+    @Benchmark
+    public IssuePropertyDistribution createCategoryDistribution() {
+        return new IssuePropertyDistribution(report.getPropertyCount(Issue::getCategory));
+    }
+
+    /**
+     * Creates the distribution of the types.
+     *
+     * @return the distribution
+     */
+    @Benchmark
+    public IssuePropertyDistribution createTypeDistribution() {
+        return new IssuePropertyDistribution(report.getPropertyCount(Issue::getType));
+    }
+
+    /**
+     * Creates the distribution of the packages.
+     *
+     * @return the distribution
+     */
+    @Benchmark
+    public IssuePropertyDistribution createPackageDistribution() {
+        return new IssuePropertyDistribution(report.getPropertyCount(Issue::getPackageName));
+    }
+}
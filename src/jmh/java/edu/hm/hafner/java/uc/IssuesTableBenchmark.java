@@ -0,0 +1,82 @@
+package edu.hm.hafner.java.uc;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.gson.Gson;
+
+import edu.hm.hafner.analysis.Severity;
+import edu.hm.hafner.java.db.ReportSummary;
+
+/**
+ * Measures the creation of an {@link IssuesTable} and its conversion to JSON.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IssuesTableBenchmark {
+    /** The number of rows of the table. */
+    @Param({"10", "100", "1000"})
+    public int rows;
+
+    private final Gson gson = new Gson();
+    private final List<ReportSummary> summaries = new ArrayList<>();
+    private IssuesTable table;
+
+    /** Creates the report summaries and the table. */
+    @Setup
+    public void createSummaries() {
+        summaries.clear();
+        for (int i = 0; i < rows; i++) {
+            Map<Severity, Integer> sizes = new HashMap<>();
+            sizes.put(Severity.ERROR, i);
+            sizes.put(Severity.WARNING_HIGH, 2 * i);
+            sizes.put(Severity.WARNING_NORMAL, 3 * i);
+            sizes.put(Severity.WARNING_LOW, 4 * i);
+            summaries.add(new ReportSummary(i, "pmd", "PMD", "build-" + i, sizes));
+        }
+        table = createTable();
+    }
+
+    /**
+     * Creates the table.
+     *
+     * @return the table
+     */
+    @Benchmark
+    public IssuesTable createTable() {
+        IssuesTable statistics = new IssuesTable(1, rows, rows);
+        for (ReportSummary summary : summaries) {
+            statistics.addRow(summary);
+        }
+        return statistics;
+    }
+
+    /**
+     * Converts the table to JSON.
+     *
+     * @return the JSON text
+     */
+    @Benchmark
+    public String convertTableToJson() {
+        return gson.toJson(table);
+    }
+}
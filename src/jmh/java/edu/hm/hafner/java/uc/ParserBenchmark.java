@@ -0,0 +1,79 @@
+package edu.hm.hafner.java.uc;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.FileSystemResource;
+
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.java.SyntheticReports;
+import edu.hm.hafner.java.db.EntityService;
+import edu.hm.hafner.java.util.InputStreamSourceReaderFactory;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Measures the parsing of uploaded report files with {@link IssuesService#parse}. The report files are synthetic
+ * files of the supported formats with the specified number of issues.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class ParserBenchmark {
+    /** The ID of the static analysis tool. */
+    @Param({"pmd", "checkstyle", "spotbugs"})
+    public String tool;
+
+    /** The number of issues in the report file. */
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private final IssuesService issuesService = new IssuesService(mock(EntityService.class));
+    private Path file;
+
+    /** Writes the report file. */
+    @Setup
+    public void writeReport() {
+        file = SyntheticReports.writeReport(tool, size);
+    }
+
+    /**
+     * Deletes the report file.
+     *
+     * @throws IOException
+     *         if the file could not be deleted
+     */
+    @TearDown
+    public void deleteReport() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Parses the report file.
+     *
+     * @return the parsed report
+     */
+    @Benchmark
+    public Report parse() {
+        return issuesService.parse(tool, "benchmark", new InputStreamSourceReaderFactory(
+                new FileSystemResource(file), file.toString(), StandardCharsets.UTF_8));
+    }
+}
@@ -2,6 +2,9 @@ package edu.hm.hafner.java;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableAsync;
 
 /**
  * Entry point for this Spring Boot Application.
@@ -10,14 +13,21 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  */
 @SuppressWarnings({"CheckStyle", "NonFinalUtilityClass", "HideUtilityClassConstructor", "PMD.UseUtilityClass"})
 @SpringBootApplication
+@EnableCaching
+@EnableAsync
 public class AnalysisDashboard {
+    private static final int STARTUP_STEPS = 4096;
+
     /**
-     * Starts the application.
+     * Starts the application. The steps of the startup are recorded, they are available at the actuator endpoint
+     * {@code startup}.
      *
      * @param args
      *         optional commandline arguments
      */
     public static void main(final String... args) {
-        SpringApplication.run(AnalysisDashboard.class, args);
+        SpringApplication application = new SpringApplication(AnalysisDashboard.class);
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));
+        application.run(args);
     }
 }
@@ -0,0 +1,192 @@
+package edu.hm.hafner.java.db;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import edu.hm.hafner.util.NoSuchElementException;
+
+/**
+ * Maps the values of the repetitive properties of the issues (file names, packages, categories, etc.) to integer IDs.
+ * The issues table stores only these IDs, the values are stored once in the dictionary table.
+ *
+ * <p>
+ * Entries are never changed or deleted, so the mappings are cached in memory. New entries are created in a separate
+ * transaction that is committed immediately: this makes the new entry visible to concurrent uploads, and the insert
+ * does not interfere with the flush of the issues that triggered the creation.
+ * </p>
+ *
+ * <p>
+ * Uploads {@link #resolve(Collection) resolve} the values of all issues in advance, before the upload transaction
+ * is started: the missing entries are then created in a few transactions rather than in one transaction per new value
+ * during the flush of the issues, where each of these transactions requires a second connection of the pool.
+ * </p>
+ */
+@Component
+public class Dictionary {
+    private static final int CHUNK_SIZE = 1000;
+
+    private final DictionaryRepository repository;
+    private final TransactionTemplate newTransaction;
+    private final Cache<String, Integer> ids;
+    private final Cache<Integer, String> labels;
+
+    /**
+     * Creates a new instance of {@link Dictionary}.
+     *
+     * @param repository
+     *         the repository of the dictionary entries
+     * @param transactionManager
+     *         the transaction manager to create the transactions for new entries
+     * @param cacheSize
+     *         the maximum number of entries that are cached in memory
+     */
+    @Autowired
+    public Dictionary(final DictionaryRepository repository, final PlatformTransactionManager transactionManager,
+            @Value("${dictionary.cache-size:100000}") final int cacheSize) {
+        this.repository = repository;
+        ids = Caffeine.newBuilder().maximumSize(cacheSize).build();
+        labels = Caffeine.newBuilder().maximumSize(cacheSize).build();
+
+        newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Returns the ID of the specified value. If the value is not yet part of the dictionary, then a new entry will
+     * be created.
+     *
+     * @param label
+     *         the value
+     *
+     * @return the ID of the value
+     */
+    public int getId(final String label) {
+        Integer id = ids.getIfPresent(label);
+        if (id != null) {
+            return id;
+        }
+        return cache(findOrCreate(label));
+    }
+
+    /**
+     * Resolves the IDs of the specified values in advance. The values that are not cached yet are selected with one
+     * query per chunk of values, the missing entries of a chunk are created in the same transaction. The values are
+     * sorted, so concurrent uploads insert overlapping values in the same order.
+     *
+     * @param values
+     *         the values to resolve
+     */
+    public void resolve(final Collection<String> values) {
+        List<String> missing = new ArrayList<>();
+        for (String label : new TreeSet<>(values)) {
+            if (ids.getIfPresent(label) == null) {
+                missing.add(label);
+            }
+        }
+        for (int from = 0; from < missing.size(); from += CHUNK_SIZE) {
+            createMissing(missing.subList(from, Math.min(from + CHUNK_SIZE, missing.size()))).forEach(this::cache);
+        }
+    }
+
+    /**
+     * Returns the ID of the specified value. In contrast to {@link #getId(String)} no entry will be created: this
+     * method is used to check the values of filters, a value that is not part of the dictionary is not used by any
+     * issue.
+     *
+     * @param label
+     *         the value
+     *
+     * @return the ID of the value, or an empty optional if the value is not part of the dictionary
+     */
+    public Optional<Integer> findId(final String label) {
+        Integer id = ids.getIfPresent(label);
+        if (id != null) {
+            return Optional.of(id);
+        }
+        return inNewTransaction(() -> repository.findByLabel(label)).map(this::cache);
+    }
+
+    /**
+     * Returns the value with the specified ID.
+     *
+     * @param id
+     *         the ID of the value
+     *
+     * @return the value
+     * @throws NoSuchElementException
+     *         if there is no entry with the specified ID
+     */
+    public String getLabel(final int id) {
+        String label = labels.getIfPresent(id);
+        if (label != null) {
+            return label;
+        }
+        DictionaryEntry entry = inNewTransaction(() -> repository.findById(id))
+                .orElseThrow(() -> new NoSuchElementException("No dictionary entry with ID %d", id));
+        cache(entry);
+        return entry.getLabel();
+    }
+
+    private DictionaryEntry findOrCreate(final String label) {
+        try {
+            return inNewTransaction(() -> repository.findByLabel(label)
+                    .orElseGet(() -> repository.saveAndFlush(new DictionaryEntry(label))));
+        }
+        catch (DataIntegrityViolationException exception) {
+            // the entry has been created by a concurrent transaction in the meantime
+            return inNewTransaction(() -> repository.findByLabel(label)).orElseThrow(() -> exception);
+        }
+    }
+
+    private List<DictionaryEntry> createMissing(final List<String> chunk) {
+        try {
+            return inNewTransaction(() -> create(chunk));
+        }
+        catch (DataIntegrityViolationException exception) {
+            // some entries have been created by a concurrent transaction in the meantime
+            return inNewTransaction(() -> create(chunk));
+        }
+    }
+
+    private List<DictionaryEntry> create(final List<String> chunk) {
+        List<DictionaryEntry> entries = new ArrayList<>(repository.findByLabelIn(chunk));
+        Set<String> existing = new HashSet<>();
+        entries.forEach(entry -> existing.add(entry.getLabel()));
+        List<DictionaryEntry> missing = new ArrayList<>();
+        for (String label : chunk) {
+            if (!existing.contains(label)) {
+                missing.add(new DictionaryEntry(label));
+            }
+        }
+        entries.addAll(repository.saveAllAndFlush(missing));
+        return entries;
+    }
+
+    private <T> T inNewTransaction(final Supplier<T> action) {
+        return Objects.requireNonNull(newTransaction.execute(status -> action.get()));
+    }
+
+    private int cache(final DictionaryEntry entry) {
+        ids.put(entry.getLabel(), entry.getId());
+        labels.put(entry.getId(), entry.getLabel());
+        return entry.getId();
+    }
+}
@@ -0,0 +1,61 @@
+package edu.hm.hafner.java.db;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+/**
+ * Stores a property of an {@link IssueEntity} as ID of an entry in the {@link Dictionary}. The converter is created by
+ * Hibernate while the entity manager factory is built, so the dictionary (which requires the entity manager factory)
+ * is resolved when the first value is converted.
+ */
+@Component
+@Converter
+public class DictionaryConverter implements AttributeConverter<String, Integer> {
+    private final ObjectProvider<Dictionary> dictionaryProvider;
+    @CheckForNull
+    private volatile Dictionary dictionary;
+
+    /**
+     * Creates a new instance of {@link DictionaryConverter}.
+     *
+     * @param dictionaryProvider
+     *         provides the dictionary
+     */
+    @Autowired
+    public DictionaryConverter(final ObjectProvider<Dictionary> dictionaryProvider) {
+        this.dictionaryProvider = dictionaryProvider;
+    }
+
+    @Override
+    @CheckForNull
+    public Integer convertToDatabaseColumn(@CheckForNull final String attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        return getDictionary().getId(attribute);
+    }
+
+    @Override
+    @CheckForNull
+    public String convertToEntityAttribute(@CheckForNull final Integer id) {
+        if (id == null) {
+            return null;
+        }
+        return getDictionary().getLabel(id);
+    }
+
+    private Dictionary getDictionary() {
+        Dictionary resolved = dictionary;
+        if (resolved == null) {
+            resolved = dictionaryProvider.getObject();
+            dictionary = resolved;
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,44 @@
+package edu.hm.hafner.java.db;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * An entry of the {@link Dictionary}: maps a property value of the issues to an integer ID.
+ */
+@Entity
+@Table(name = "dictionary", indexes = @Index(name = "dictionary_label_idx", columnList = "label", unique = true))
+@SuppressFBWarnings("NP")
+public class DictionaryEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private int id;
+    @Column(length = 1024, nullable = false)
+    private String label;
+
+    /**
+     * Creates a new instance of {@link DictionaryEntry}.
+     */
+    public DictionaryEntry() {
+        this("");
+    }
+
+    DictionaryEntry(final String label) {
+        this.label = label;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
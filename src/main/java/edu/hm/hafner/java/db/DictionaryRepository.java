@@ -0,0 +1,32 @@
+package edu.hm.hafner.java.db;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * JPA repository to access the {@link DictionaryEntry entries of the dictionary}.
+ */
+public interface DictionaryRepository extends JpaRepository<DictionaryEntry, Integer> {
+    /**
+     * Selects the entry with the specified label.
+     *
+     * @param label
+     *         the label of the entry
+     *
+     * @return the entry, or an empty optional if there is no such entry
+     */
+    Optional<DictionaryEntry> findByLabel(String label);
+
+    /**
+     * Selects the entries with the specified labels.
+     *
+     * @param labels
+     *         the labels of the entries
+     *
+     * @return the entries, the labels without an entry are skipped
+     */
+    List<DictionaryEntry> findByLabelIn(Collection<String> labels);
+}
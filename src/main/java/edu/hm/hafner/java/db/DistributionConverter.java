@@ -0,0 +1,40 @@
+package edu.hm.hafner.java.db;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+/**
+ * Stores the number of issues per property value of a {@link DistributionEntity} as a compact JSON object, e.g.
+ * <code>{"Design":15,"Style":53}</code>.
+ */
+@Converter
+public class DistributionConverter implements AttributeConverter<Map<String, Integer>, String> {
+    private static final Gson GSON = new Gson();
+    private static final Type COUNTS = new TypeToken<TreeMap<String, Integer>>() { }.getType();
+
+    @Override
+    @CheckForNull
+    public String convertToDatabaseColumn(@CheckForNull final Map<String, Integer> attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        return GSON.toJson(attribute);
+    }
+
+    @Override
+    @CheckForNull
+    public Map<String, Integer> convertToEntityAttribute(@CheckForNull final String json) {
+        if (json == null) {
+            return null;
+        }
+        return GSON.fromJson(json, COUNTS);
+    }
+}
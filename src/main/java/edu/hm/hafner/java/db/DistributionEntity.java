@@ -0,0 +1,142 @@
+package edu.hm.hafner.java.db;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.MapsId;
+import javax.persistence.OneToOne;
+import javax.persistence.Table;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * POJO to store the number of issues per category, type, severity, package, and module of a report. The counts are
+ * computed in a single pass over the issues when the report is uploaded, so the distributions of a report are read
+ * from a single row instead of being aggregated from the issues.
+ */
+@Entity
+@Table(name = "report_distribution")
+@SuppressWarnings("PMD.DataClass")
+@SuppressFBWarnings("NP")
+public class DistributionEntity {
+    /** The properties that are counted by this entity. */
+    static final Set<IssueProperty> PROPERTIES = EnumSet.of(IssueProperty.CATEGORY, IssueProperty.TYPE,
+            IssueProperty.SEVERITY, IssueProperty.PACKAGE_NAME, IssueProperty.MODULE_NAME);
+
+    @Id
+    private int id;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "report_id")
+    private ReportEntity report;
+
+    @Convert(converter = DistributionConverter.class)
+    @Column(columnDefinition = "text", nullable = false)
+    private Map<String, Integer> category;
+    @Convert(converter = DistributionConverter.class)
+    @Column(columnDefinition = "text", nullable = false)
+    private Map<String, Integer> type;
+    @Convert(converter = DistributionConverter.class)
+    @Column(columnDefinition = "text", nullable = false)
+    private Map<String, Integer> severity;
+    @Convert(converter = DistributionConverter.class)
+    @Column(columnDefinition = "text", nullable = false)
+    private Map<String, Integer> packageName;
+    @Convert(converter = DistributionConverter.class)
+    @Column(columnDefinition = "text", nullable = false)
+    private Map<String, Integer> moduleName;
+
+    /**
+     * Creates a new instance of {@link DistributionEntity}.
+     */
+    public DistributionEntity() {
+        clear();
+    }
+
+    /**
+     * Creates a new instance of {@link DistributionEntity} for the specified report. The counts are empty until the
+     * issues are {@link #add(Issue) added}.
+     *
+     * @param report
+     *         the stored report
+     */
+    DistributionEntity(final ReportEntity report) {
+        this();
+
+        this.report = report;
+    }
+
+    /**
+     * Removes all counts, so the issues of a new upload can be added.
+     */
+    final void clear() {
+        category = new TreeMap<>();
+        type = new TreeMap<>();
+        severity = new TreeMap<>();
+        packageName = new TreeMap<>();
+        moduleName = new TreeMap<>();
+    }
+
+    /**
+     * Counts the properties of the specified issue.
+     *
+     * @param issue
+     *         the issue to count
+     */
+    void add(final Issue issue) {
+        category.merge(issue.getCategory(), 1, Integer::sum);
+        type.merge(issue.getType(), 1, Integer::sum);
+        severity.merge(issue.getSeverity().getName(), 1, Integer::sum);
+        packageName.merge(issue.getPackageName(), 1, Integer::sum);
+        moduleName.merge(issue.getModuleName(), 1, Integer::sum);
+    }
+
+    /**
+     * Returns the number of issues per value of the specified property.
+     *
+     * @param property
+     *         the property, one of {@link #PROPERTIES}
+     *
+     * @return a mapping of property values to the number of issues, ordered by property value
+     * @throws IllegalArgumentException
+     *         if the property is not counted by this entity
+     */
+    Map<String, Integer> getCounts(final IssueProperty property) {
+        switch (property) {
+            case CATEGORY:
+                return sorted(category);
+            case TYPE:
+                return sorted(type);
+            case SEVERITY:
+                return sorted(severity);
+            case PACKAGE_NAME:
+                return sorted(packageName);
+            case MODULE_NAME:
+                return sorted(moduleName);
+            default:
+                throw new IllegalArgumentException("No distribution stored for property " + property);
+        }
+    }
+
+    private Map<String, Integer> sorted(final Map<String, Integer> counts) {
+        return Collections.unmodifiableMap(new TreeMap<>(counts));
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public ReportEntity getReport() {
+        return report;
+    }
+}
@@ -1,18 +1,44 @@
 package edu.hm.hafner.java.db;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.persistence.TypedQuery;
 import javax.transaction.Transactional;
 
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 
 import edu.hm.hafner.analysis.Issue;
 import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.analysis.Severity;
+import edu.hm.hafner.java.db.IssueRepository.PropertyCount;
+import edu.hm.hafner.java.db.IssueRepository.SeverityCount;
 
 import static java.util.stream.Collectors.*;
 
@@ -26,7 +52,12 @@ import static java.util.stream.Collectors.*;
 public class EntityService {
     private final IssueRepository issueRepository;
     private final ReportRepository reportRepository;
+    private final SnapshotRepository snapshotRepository;
+    private final Dictionary dictionary;
+    private final HotspotAggregator hotspotAggregator;
     private final Mapper mapper;
+    private final int batchSize;
+    private final boolean fullTextSearch;
 
     @PersistenceContext
     private final EntityManager manager;
@@ -38,18 +69,38 @@ public class EntityService {
      *         JPA repository to store and load {@link Issue} objects
      * @param reportRepository
      *         JPA repository to store and load {@link Report} objects
+     * @param snapshotRepository
+     *         JPA repository to store and load the {@link ReportSnapshot snapshots} of the reports
+     * @param dictionary
+     *         the dictionary of the repetitive properties of the issues
+     * @param hotspotAggregator
+     *         updates the aggregates of the hotspots when reports are uploaded
      * @param mapper
      *         OR mapper convert dto-object to entity-object and vice versa
      * @param manager
      *         entity manager to use to build custom queries
+     * @param batchSize
+     *         the number of issues that will be inserted using a single JDBC batch
+     * @param fullTextSearch
+     *         determines whether the database provides the full text index of the issues, see
+     *         {@link #searchIssues(String, Pageable)}
      */
     @Autowired
+    @SuppressWarnings("checkstyle:ParameterNumber")
     public EntityService(final IssueRepository issueRepository, final ReportRepository reportRepository,
-            final Mapper mapper, final EntityManager manager) {
+            final SnapshotRepository snapshotRepository, final Dictionary dictionary,
+            final HotspotAggregator hotspotAggregator, final Mapper mapper, final EntityManager manager,
+            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}") final int batchSize,
+            @Value("${search.full-text:false}") final boolean fullTextSearch) {
         this.issueRepository = issueRepository;
         this.reportRepository = reportRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.dictionary = dictionary;
+        this.hotspotAggregator = hotspotAggregator;
         this.mapper = mapper;
         this.manager = manager;
+        this.batchSize = batchSize;
+        this.fullTextSearch = fullTextSearch;
     }
 
     /**
@@ -86,6 +137,172 @@ public class EntityService {
         return mapper.map(saved);
     }
 
+    /**
+     * Inserts a {@link Report} object into the database using JDBC batches. In contrast to {@link #insert(Report)},
+     * the issues are not cascaded from one large report entity: they are mapped and persisted in chunks of the
+     * configured batch size. After each chunk the persistence context is flushed and cleared, so the memory
+     * consumption does not grow with the size of the report. A report with the same tool ID and reference that is
+     * already stored will be updated, see {@link #upsert(Report, IntConsumer)}.
+     *
+     * @param report
+     *         to report to insert into the database
+     *
+     * @return the ID of the report in the database
+     */
+    public int insertInBatches(final Report report) {
+        return upsert(report, count -> {
+        }).getReportId();
+    }
+
+    /**
+     * Creates the {@link Dictionary dictionary} entries of the property values of all issues of the report in advance.
+     * This method does not run in a transaction: it should be called before {@link #upsert(Report, IntConsumer)}, so
+     * the new entries are created in a few separate transactions before the upload transaction holds a connection.
+     *
+     * @param report
+     *         the report to upload
+     */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public void resolveLabels(final Report report) {
+        Set<String> labels = new HashSet<>();
+        for (Issue issue : report) {
+            labels.add(issue.getCategory());
+            labels.add(issue.getFileName());
+            labels.add(issue.getModuleName());
+            labels.add(issue.getOrigin());
+            labels.add(issue.getOriginName());
+            labels.add(issue.getPackageName());
+            labels.add(issue.getType());
+        }
+        dictionary.resolve(labels);
+    }
+
+    /**
+     * Inserts or updates a {@link Report} object in the database using JDBC batches, see
+     * {@link #insertInBatches(Report)}. If a report with the same tool ID and reference is already stored, then the
+     * report is not rewritten: the stored issues are compared with the new issues and only the differences are
+     * written. I.e., new issues are inserted, fixed issues are deleted, and outstanding issues are left untouched.
+     * Each upload increments the build number of the report and stores a {@link ReportSnapshot snapshot} with the
+     * totals of the upload and the {@link DistributionEntity distributions} of the uploaded issues. The inserted and
+     * deleted issues are applied to the aggregates of the {@link #selectHotspots hotspots}. The specified listener
+     * will be notified after each batch with the number of issues that have been processed.
+     *
+     * <p>
+     * A stored report is locked until the end of the transaction, so concurrent uploads of the same report are written
+     * one after the other. If a concurrent upload creates the same new report, then this upload fails with a
+     * {@link DataIntegrityViolationException} on the unique index of the reports: the upload should be repeated, the
+     * report will be updated then.
+     * </p>
+     *
+     * @param report
+     *         to report to insert into the database
+     * @param progress
+     *         the listener that is notified about the progress
+     *
+     * @return the numbers of new, fixed, and outstanding issues
+     * @throws DataIntegrityViolationException
+     *         if the same report has been created by a concurrent upload in the meantime
+     */
+    public ReportDelta upsert(final Report report, final IntConsumer progress) {
+        Optional<ReportEntity> existing = reportRepository.findForUpdate(report.getId(),
+                report.getOriginReportFile());
+        if (existing.isPresent()) {
+            return update(existing.get(), report, progress);
+        }
+
+        ReportEntity reportEntity = new ReportEntity(report.getId(), report.getName(), report.getOriginReportFile());
+        int build = reportEntity.nextBuild();
+        reportRepository.saveAndFlush(reportEntity);
+        int reportId = reportEntity.getId();
+
+        int count = persistInBatches(report, reportId, reportEntity, progress);
+
+        HotspotDelta hotspots = new HotspotDelta();
+        DistributionEntity distribution = new DistributionEntity(manager.getReference(ReportEntity.class, reportId));
+        for (Issue issue : report) {
+            hotspots.add(issue);
+            distribution.add(issue);
+        }
+        hotspotAggregator.update(report.getId(), hotspots);
+        manager.persist(distribution);
+
+        return snapshot(reportId, build, report, new ReportDelta(reportId, count, 0, 0));
+    }
+
+    private ReportDelta update(final ReportEntity locked, final Report report, final IntConsumer progress) {
+        int reportId = locked.getId();
+        int build = locked.nextBuild();
+        ReportDiff diff = new ReportDiff(issueRepository.findAllOfReport(reportId), report);
+
+        List<Integer> deletions = diff.getDeletions();
+        for (int from = 0; from < deletions.size(); from += batchSize) {
+            issueRepository.deleteByIds(deletions.subList(from, Math.min(from + batchSize, deletions.size())));
+        }
+
+        int unchanged = report.size() - diff.getInsertions().size();
+        persistInBatches(diff.getInsertions(), reportId, manager.getReference(ReportEntity.class, reportId),
+                count -> progress.accept(unchanged + count));
+
+        HotspotDelta hotspots = new HotspotDelta();
+        diff.getInsertions().forEach(hotspots::add);
+        diff.getDeletedIssues().forEach(hotspots::remove);
+        hotspotAggregator.update(report.getId(), hotspots);
+        distribute(reportId, report);
+
+        return snapshot(reportId, build, report,
+                new ReportDelta(reportId, diff.getNewIssues(), diff.getFixedIssues(), diff.getOutstandingIssues()));
+    }
+
+    private void distribute(final int reportId, final Report report) {
+        DistributionEntity distribution = manager.find(DistributionEntity.class, reportId);
+        if (distribution == null) {
+            distribution = new DistributionEntity(manager.getReference(ReportEntity.class, reportId));
+            manager.persist(distribution);
+        }
+        else {
+            distribution.clear();
+        }
+        report.forEach(distribution::add);
+    }
+
+    private ReportDelta snapshot(final int reportId, final int build, final Report report, final ReportDelta delta) {
+        manager.persist(new SnapshotEntity(manager.getReference(ReportEntity.class, reportId), build, report, delta));
+
+        return delta;
+    }
+
+    private int persistInBatches(final Iterable<Issue> issues, final int reportId, final ReportEntity reportEntity,
+            final IntConsumer progress) {
+        ReportEntity owner = reportEntity;
+        int count = 0;
+        List<Issue> batch = new ArrayList<>(batchSize);
+        for (Issue issue : issues) {
+            batch.add(issue);
+            if (batch.size() == batchSize) {
+                count += persist(batch, owner);
+                owner = manager.getReference(ReportEntity.class, reportId);
+                progress.accept(count);
+            }
+        }
+        count += persist(batch, owner);
+        progress.accept(count);
+
+        return count;
+    }
+
+    private int persist(final List<Issue> batch, final ReportEntity owner) {
+        for (IssueEntity issueEntity : mapper.mapIssues(batch)) {
+            issueEntity.setIssues(owner);
+            manager.persist(issueEntity);
+        }
+        manager.flush();
+        manager.clear();
+
+        int size = batch.size();
+        batch.clear();
+        return size;
+    }
+
     /**
      * Selects all issues that are stored in the database.
      *
@@ -113,7 +330,83 @@ public class EntityService {
      * @return set of all reports in the database
      */
     public Set<Report> selectAllReports() {
-        return reportRepository.findAll().stream().map(mapper::map).collect(toSet());
+        return reportRepository.findAllWithIssues().stream().map(mapper::map).collect(toSet());
+    }
+
+    /**
+     * Selects a page of summaries of the reports that are stored in the database. Only reports where the tool ID, tool
+     * name, or origin report file contain the specified search text will be returned. The wildcards {@code %} and
+     * {@code _} of the search text match literally. The issues of the reports will not be loaded: the number of issues
+     * per severity is computed by an aggregate query in the database.
+     *
+     * @param search
+     *         the text to search for, an empty text selects all reports
+     * @param pageable
+     *         the page to select and the sort order
+     *
+     * @return the page of matching report summaries
+     */
+    @Cacheable(cacheNames = "statistics", key = "{#search, #pageable}")
+    public Page<ReportSummary> selectReportSummaries(final String search, final Pageable pageable) {
+        String pattern = "%" + escapeLike(search.toLowerCase(Locale.ENGLISH)) + "%";
+        Page<ReportEntity> reports = reportRepository.findAllMatching(pattern, pageable);
+
+        Map<Integer, Map<Severity, Integer>> sizes = new HashMap<>();
+        if (reports.hasContent()) {
+            List<Integer> ids = reports.map(ReportEntity::getId).getContent();
+            for (SeverityCount count : issueRepository.countByReportAndSeverity(ids)) {
+                sizes.computeIfAbsent(count.getReportId(), id -> new HashMap<>())
+                        .put(Severity.valueOf(count.getSeverity()), count.getTotal().intValue());
+            }
+        }
+        return reports.map(report -> new ReportSummary(report.getId(), report.getToolId(), report.getToolName(),
+                report.getOriginReportFile(), sizes.getOrDefault(report.getId(), Collections.emptyMap())));
+    }
+
+    private static String escapeLike(final String text) {
+        return text.replace(ReportRepository.LIKE_ESCAPE, ReportRepository.LIKE_ESCAPE + ReportRepository.LIKE_ESCAPE)
+                .replace("%", ReportRepository.LIKE_ESCAPE + "%")
+                .replace("_", ReportRepository.LIKE_ESCAPE + "_");
+    }
+
+    /**
+     * Selects the snapshots of the latest builds of the specified report. The snapshots contain the totals that have
+     * been recorded during the uploads: the issues of the report will not be read.
+     *
+     * @param toolId
+     *         ID of the static analysis tool
+     * @param originReportFile
+     *         the reference of the report
+     * @param builds
+     *         the maximum number of builds to select
+     *
+     * @return the snapshots of the latest builds, ordered by build number (the latest build last)
+     */
+    public List<ReportSnapshot> selectSnapshots(final String toolId, final String originReportFile,
+            final int builds) {
+        List<ReportSnapshot> snapshots = new ArrayList<>();
+        for (SnapshotEntity entity : snapshotRepository.findLatest(toolId, originReportFile,
+                PageRequest.of(0, builds))) {
+            Map<Severity, Integer> sizes = new HashMap<>();
+            sizes.put(Severity.ERROR, entity.getErrors());
+            sizes.put(Severity.WARNING_HIGH, entity.getHigh());
+            sizes.put(Severity.WARNING_NORMAL, entity.getNormal());
+            sizes.put(Severity.WARNING_LOW, entity.getLow());
+            snapshots.add(new ReportSnapshot(entity.getBuild(), entity.getCreated(), entity.getTotal(), sizes,
+                    entity.getNewIssues(), entity.getFixedIssues()));
+        }
+        Collections.reverse(snapshots);
+        return snapshots;
+    }
+
+    /**
+     * Returns the number of reports that are stored in the database.
+     *
+     * @return the number of reports
+     */
+    @Cacheable(cacheNames = "statistics", key = "'count'")
+    public long countReports() {
+        return reportRepository.count();
     }
 
     /**
@@ -125,7 +418,182 @@ public class EntityService {
      * @return Optional with a new issue if it is present in the database else an empty optional.
      */
     public Optional<Report> selectReport(final int id) {
-        return reportRepository.findById(id).map(mapper::map);
+        return reportRepository.findWithIssuesById(id).map(mapper::map);
+    }
+
+    /**
+     * Selects the files, packages, or modules with the most issues in all reports, or in all reports of a static
+     * analysis tool. The hotspots are read from aggregates that are updated whenever a report is uploaded: the issues
+     * will not be read. The hotspots are ranked by the number of issues, optionally weighted by severity: an error
+     * counts eight times, a warning with severity high four times, and a warning with severity normal twice as much
+     * as a warning with severity low.
+     *
+     * @param property
+     *         the property to rank, one of {@link IssueProperty#FILE_NAME}, {@link IssueProperty#PACKAGE_NAME}, or
+     *         {@link IssueProperty#MODULE_NAME}
+     * @param toolId
+     *         ID of the static analysis tool, or an empty string to rank the issues of all tools
+     * @param weighted
+     *         determines whether the issues are weighted by severity
+     * @param limit
+     *         the maximum number of hotspots to select
+     *
+     * @return the hotspots, the hotspot with the highest score first
+     * @throws IllegalArgumentException
+     *         if the property is not aggregated
+     */
+    public List<Hotspot> selectHotspots(final IssueProperty property, final String toolId, final boolean weighted,
+            final int limit) {
+        if (!HotspotDelta.PROPERTIES.contains(property)) {
+            throw new IllegalArgumentException("No hotspots available for property " + property.getAttribute());
+        }
+
+        String score = weighted ? "SUM(8 * h.errors + 4 * h.high + 2 * h.normal + h.low)"
+                : "SUM(h.errors + h.high + h.normal + h.low)";
+        TypedQuery<Hotspot> query = manager.createQuery("SELECT NEW " + Hotspot.class.getName() + "(h.label, "
+                + score + ", SUM(h.errors), SUM(h.high), SUM(h.normal), SUM(h.low)) FROM HotspotEntity h "
+                + "WHERE h.property = :property " + (toolId.isEmpty() ? "" : "AND h.toolId = :toolId ")
+                + "GROUP BY h.label HAVING SUM(h.errors + h.high + h.normal + h.low) > 0 "
+                + "ORDER BY " + score + " DESC, h.label", Hotspot.class);
+        query.setParameter("property", property);
+        if (!toolId.isEmpty()) {
+            query.setParameter("toolId", toolId);
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    /**
+     * Returns whether a report with the specified ID exists.
+     *
+     * @param id
+     *         the ID of the report
+     *
+     * @return {@code true} if the report exists, {@code false} otherwise
+     */
+    public boolean containsReport(final int id) {
+        return reportRepository.existsById(id);
+    }
+
+    /**
+     * Selects the next issues of the specified report that match all the specified filters. The issues are ordered by
+     * their ID, the page starts after the specified ID (keyset pagination). So the database seeks directly to the
+     * first issue of the page using the index on report and ID: selecting a page at the end of a large report is as
+     * fast as selecting the first page.
+     *
+     * <p>
+     * The filter values are resolved in the dictionary before the query is executed: if a value is not part of the
+     * dictionary, then no issue matches and the database is not queried. Unknown values are never added to the
+     * dictionary.
+     * </p>
+     *
+     * @param reportId
+     *         the ID of the report
+     * @param filters
+     *         the values that the properties of the selected issues must be equal to
+     * @param after
+     *         the ID of the last issue of the previous page, use 0 to select the first page
+     * @param size
+     *         the maximum number of issues to select
+     *
+     * @return the summaries of the selected issues, ordered by ID
+     */
+    public List<IssueSummary> selectIssues(final int reportId, final Map<IssueProperty, String> filters,
+            final int after, final int size) {
+        StringBuilder jpql = new StringBuilder(128);
+        jpql.append("SELECT NEW ").append(IssueSummary.class.getName())
+                .append("(i.id, i.severity, i.category, i.type, i.packageName, i.moduleName, i.fileName, ")
+                .append("i.lineStart, i.lineEnd, i.message) FROM IssueEntity i ")
+                .append("WHERE i.issues.id = :reportId AND i.id > :after ");
+        for (Map.Entry<IssueProperty, String> filter : filters.entrySet()) {
+            if (!isStoredValue(filter.getKey(), filter.getValue())) {
+                return Collections.emptyList();
+            }
+            String attribute = filter.getKey().getAttribute();
+            jpql.append("AND i.").append(attribute).append(" = :").append(attribute).append(' ');
+        }
+        jpql.append("ORDER BY i.id");
+
+        TypedQuery<IssueSummary> query = manager.createQuery(jpql.toString(), IssueSummary.class);
+        query.setParameter("reportId", reportId);
+        query.setParameter("after", after);
+        filters.forEach((property, value) -> query.setParameter(property.getAttribute(), value));
+        return query.setMaxResults(size).getResultList();
+    }
+
+    private boolean isStoredValue(final IssueProperty property, final String value) {
+        if (property == IssueProperty.SEVERITY) {
+            return SeverityConverter.isSupported(value);
+        }
+        return dictionary.findId(value).isPresent();
+    }
+
+    /**
+     * Searches the messages and descriptions of the issues of all reports for the specified text. The text may use the
+     * syntax of web search engines: all words must be found, alternatives are separated by {@code or}, phrases are
+     * quoted, and excluded words are prefixed with {@code -}.
+     *
+     * <p>
+     * In PostgreSQL the search uses the full text index of the issues: the index is created by the Flyway migrations
+     * and updated by the database whenever issues are inserted, the hits are ranked by their relevance. Other
+     * databases (e.g. the development database) do not provide this index: then each word is searched as substring of
+     * the message or description (the search syntax is not supported), and the hits are ordered by ID.
+     * </p>
+     *
+     * @param text
+     *         the text to search for
+     * @param pageable
+     *         the page of hits to select, the sort order is ignored
+     *
+     * @return the page of hits
+     */
+    public Slice<IssueSearchHit> searchIssues(final String text, final Pageable pageable) {
+        List<Integer> ids = fullTextSearch ? rankMatches(text, pageable) : findMatches(text, pageable);
+        boolean hasNext = ids.size() > pageable.getPageSize();
+        if (hasNext) {
+            ids = ids.subList(0, pageable.getPageSize());
+        }
+        if (ids.isEmpty()) {
+            return new SliceImpl<>(Collections.emptyList(), pageable, false);
+        }
+
+        Map<Integer, IssueSearchHit> hits = manager.createQuery("SELECT NEW " + IssueSearchHit.class.getName()
+                        + "(r.id, r.toolId, r.originReportFile, i.id, i.severity, i.category, i.type, "
+                        + "i.packageName, i.moduleName, i.fileName, i.lineStart, i.lineEnd, i.message) "
+                        + "FROM IssueEntity i JOIN i.issues r WHERE i.id IN :ids", IssueSearchHit.class)
+                .setParameter("ids", ids)
+                .getResultStream()
+                .collect(toMap(IssueSearchHit::getId, Function.identity()));
+        return new SliceImpl<>(ids.stream().map(hits::get).filter(Objects::nonNull).collect(toList()),
+                pageable, hasNext);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Integer> rankMatches(final String text, final Pageable pageable) {
+        // the index contains the words of identifiers like java.lang.NullPointerException as separate words
+        List<Number> ids = manager.createNativeQuery("SELECT i.id FROM {h-schema}issues i, "
+                        + "websearch_to_tsquery('simple', :text) query WHERE i.search @@ query "
+                        + "ORDER BY ts_rank(i.search, query) DESC, i.id LIMIT :limit OFFSET :offset")
+                .setParameter("text", text.replaceAll("[^\\p{Alnum}\"\\s-]+", " "))
+                .setParameter("limit", pageable.getPageSize() + 1)
+                .setParameter("offset", pageable.getOffset())
+                .getResultList();
+        return ids.stream().map(Number::intValue).collect(toList());
+    }
+
+    private List<Integer> findMatches(final String text, final Pageable pageable) {
+        List<String> words = Arrays.asList(StringUtils.split(text.toLowerCase(Locale.ENGLISH)));
+        StringBuilder jpql = new StringBuilder("SELECT i.id FROM IssueEntity i WHERE 1 = 1 ");
+        for (int i = 0; i < words.size(); i++) {
+            jpql.append("AND (LOWER(i.message) LIKE :word").append(i)
+                    .append(" OR LOWER(i.description) LIKE :word").append(i).append(") ");
+        }
+        TypedQuery<Integer> query = manager.createQuery(jpql.append("ORDER BY i.id").toString(), Integer.class);
+        for (int i = 0; i < words.size(); i++) {
+            query.setParameter("word" + i, "%" + words.get(i) + "%");
+        }
+        return query.setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
     }
 
     /**
@@ -144,6 +612,127 @@ public class EntityService {
 
     }
 
+    /**
+     * Returns whether a report for the specified tool ID and report file exists.
+     *
+     * @param toolId
+     *         ID of the static analysis tool
+     * @param originReportFile
+     *         ID of report
+     *
+     * @return {@code true} if the report exists, {@code false} otherwise
+     */
+    public boolean containsReport(final String toolId, final String originReportFile) {
+        return reportRepository.existsByToolIdAndOriginReportFile(toolId, originReportFile);
+    }
+
+    /**
+     * Counts the issues of the report with the specified tool ID and report file, grouped by the values of the
+     * specified property. The issues will not be loaded: the totals of category, type, severity, package, and module
+     * are read from the {@link DistributionEntity distribution} that has been stored with the upload, all other
+     * totals are computed by the database.
+     *
+     * @param toolId
+     *         ID of the static analysis tool
+     * @param originReportFile
+     *         ID of report
+     * @param property
+     *         the property to group the issues by
+     *
+     * @return a mapping of property values to the number of issues, ordered by property value
+     */
+    public Map<String, Integer> countIssuesByProperty(final String toolId, final String originReportFile,
+            final IssueProperty property) {
+        if (DistributionEntity.PROPERTIES.contains(property)) {
+            Optional<DistributionEntity> distribution = selectDistribution(toolId, originReportFile);
+            if (distribution.isPresent()) {
+                return distribution.get().getCounts(property);
+            }
+        }
+
+        Map<String, Integer> counts = new TreeMap<>();
+        for (PropertyCount count : countBy(toolId, originReportFile, property)) {
+            counts.put(count.getLabel(), count.getTotal().intValue());
+        }
+        return counts;
+    }
+
+    /**
+     * Counts the issues of the report with the specified tool ID and report file, grouped by the values of each of
+     * the specified properties. If all properties are part of the {@link DistributionEntity distribution} that has been
+     * stored with the upload, then the totals are read from this single row. Otherwise, all totals are computed using a
+     * single aggregate query that groups the issues by the combination of all properties. The totals for the
+     * individual properties are then summed up in one pass over the (small) result of this query.
+     *
+     * @param toolId
+     *         ID of the static analysis tool
+     * @param originReportFile
+     *         ID of report
+     * @param properties
+     *         the properties to group the issues by
+     *
+     * @return for each property: a mapping of property values to the number of issues, ordered by property value
+     */
+    public Map<IssueProperty, Map<String, Integer>> countIssuesByProperties(final String toolId,
+            final String originReportFile, final Collection<IssueProperty> properties) {
+        Map<IssueProperty, Map<String, Integer>> counts = new EnumMap<>(IssueProperty.class);
+        if (properties.isEmpty()) {
+            return counts;
+        }
+        if (DistributionEntity.PROPERTIES.containsAll(properties)) {
+            Optional<DistributionEntity> distribution = selectDistribution(toolId, originReportFile);
+            if (distribution.isPresent()) {
+                properties.forEach(property -> counts.put(property, distribution.get().getCounts(property)));
+                return counts;
+            }
+        }
+
+        List<IssueProperty> groups = new ArrayList<>(EnumSet.copyOf(properties));
+        String attributes = groups.stream().map(property -> "i." + property.getAttribute()).collect(joining(", "));
+        TypedQuery<Object[]> query = manager.createQuery("SELECT " + attributes + ", COUNT(i) FROM IssueEntity i "
+                + IssueRepository.FILTER_BY_REPORT + "GROUP BY " + attributes, Object[].class);
+        query.setParameter("toolId", toolId);
+        query.setParameter("originReportFile", originReportFile);
+
+        groups.forEach(property -> counts.put(property, new TreeMap<>()));
+        for (Object[] row : query.getResultList()) {
+            int total = ((Number) row[groups.size()]).intValue();
+            for (int i = 0; i < groups.size(); i++) {
+                counts.get(groups.get(i)).merge(Objects.toString(row[i], ""), total, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    private Optional<DistributionEntity> selectDistribution(final String toolId, final String originReportFile) {
+        TypedQuery<DistributionEntity> query = manager.createQuery("SELECT d FROM DistributionEntity d "
+                + "WHERE d.report.toolId = :toolId AND d.report.originReportFile = :originReportFile",
+                DistributionEntity.class);
+        query.setParameter("toolId", toolId);
+        query.setParameter("originReportFile", originReportFile);
+        return query.getResultList().stream().findFirst();
+    }
+
+    private List<PropertyCount> countBy(final String toolId, final String originReportFile,
+            final IssueProperty property) {
+        switch (property) {
+            case CATEGORY:
+                return issueRepository.countByCategory(toolId, originReportFile);
+            case TYPE:
+                return issueRepository.countByType(toolId, originReportFile);
+            case SEVERITY:
+                return issueRepository.countBySeverity(toolId, originReportFile);
+            case PACKAGE_NAME:
+                return issueRepository.countByPackageName(toolId, originReportFile);
+            case MODULE_NAME:
+                return issueRepository.countByModuleName(toolId, originReportFile);
+            case FILE_NAME:
+                return issueRepository.countByFileName(toolId, originReportFile);
+            default:
+                throw new IllegalArgumentException("Unsupported property " + property);
+        }
+    }
+
     /**
      * Returns a list of the references of all persisted reports.
      *
@@ -0,0 +1,70 @@
+package edu.hm.hafner.java.db;
+
+/**
+ * The number of issues of a file, package, or module in all reports (of a static analysis tool). The score is used to
+ * rank the hotspots: it is either the total number of issues or the number of issues weighted by their severity.
+ */
+public class Hotspot {
+    private final String label;
+    private final long score;
+    private final long total;
+    private final long errors;
+    private final long high;
+    private final long normal;
+    private final long low;
+
+    /**
+     * Creates a new instance of {@link Hotspot}.
+     *
+     * @param label
+     *         the name of the file, package, or module
+     * @param score
+     *         the score to rank the hotspots
+     * @param errors
+     *         the number of issues with severity error
+     * @param high
+     *         the number of issues with severity high
+     * @param normal
+     *         the number of issues with severity normal
+     * @param low
+     *         the number of issues with severity low
+     */
+    public Hotspot(final String label, final long score, final long errors, final long high, final long normal,
+            final long low) {
+        this.label = label;
+        this.score = score;
+        this.errors = errors;
+        this.high = high;
+        this.normal = normal;
+        this.low = low;
+        total = errors + high + normal + low;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public long getScore() {
+        return score;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public long getHigh() {
+        return high;
+    }
+
+    public long getNormal() {
+        return normal;
+    }
+
+    public long getLow() {
+        return low;
+    }
+}
@@ -0,0 +1,117 @@
+package edu.hm.hafner.java.db;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Updates the {@link HotspotEntity hotspot aggregates} with the changes of an upload. The aggregates are updated in
+ * the transaction of the upload, so they are always consistent with the stored issues.
+ *
+ * <p>
+ * Missing aggregates are created in a separate transaction that is committed immediately (like the entries of the
+ * {@link Dictionary}): otherwise concurrent uploads of the same tool would fail on the unique index. Afterwards the
+ * aggregates are locked and incremented in the transaction of the upload.
+ * </p>
+ *
+ * <p>
+ * All uploads lock the aggregates in the same global order: by property and then by the ID of the label in the
+ * {@link Dictionary} (which is the value of the label column). The labels are sorted before the missing aggregates
+ * are created and the aggregates are locked chunk by chunk in this order, so concurrent uploads of the same tool wait
+ * for each other but never deadlock.
+ * </p>
+ */
+@Component
+public class HotspotAggregator {
+    private static final int CHUNK_SIZE = 1000;
+
+    private final HotspotRepository repository;
+    private final Dictionary dictionary;
+    private final TransactionTemplate newTransaction;
+
+    /**
+     * Creates a new instance of {@link HotspotAggregator}.
+     *
+     * @param repository
+     *         the repository of the aggregates
+     * @param dictionary
+     *         the dictionary of the labels, provides the order of the locks
+     * @param transactionManager
+     *         the transaction manager to create the transactions for new aggregates
+     */
+    @Autowired
+    public HotspotAggregator(final HotspotRepository repository, final Dictionary dictionary,
+            final PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.dictionary = dictionary;
+
+        newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Applies the changes of an upload to the aggregates of the specified tool.
+     *
+     * @param toolId
+     *         ID of the static analysis tool
+     * @param delta
+     *         the changes of the upload
+     */
+    void update(final String toolId, final HotspotDelta delta) {
+        Map<IssueProperty, Map<String, int[]>> changes = new EnumMap<>(IssueProperty.class);
+        Map<IssueProperty, List<String>> labels = new EnumMap<>(IssueProperty.class);
+        for (IssueProperty property : HotspotDelta.PROPERTIES) {
+            Map<String, int[]> propertyChanges = delta.getChanges(property);
+            List<String> sorted = new ArrayList<>(propertyChanges.keySet());
+            sorted.sort(Comparator.comparingInt(dictionary::getId));
+            changes.put(property, propertyChanges);
+            labels.put(property, sorted);
+        }
+
+        labels.forEach((property, sorted) -> forEachChunk(sorted, chunk -> createMissing(toolId, property, chunk)));
+        labels.forEach((property, sorted) -> forEachChunk(sorted, chunk -> {
+            for (HotspotEntity hotspot : repository.findForUpdate(toolId, property, chunk)) {
+                hotspot.add(changes.get(property).get(hotspot.getLabel()));
+            }
+        }));
+    }
+
+    private void forEachChunk(final List<String> labels, final Consumer<List<String>> action) {
+        for (int from = 0; from < labels.size(); from += CHUNK_SIZE) {
+            action.accept(labels.subList(from, Math.min(from + CHUNK_SIZE, labels.size())));
+        }
+    }
+
+    private void createMissing(final String toolId, final IssueProperty property, final List<String> labels) {
+        try {
+            newTransaction.executeWithoutResult(status -> create(toolId, property, labels));
+        }
+        catch (DataIntegrityViolationException exception) {
+            // some aggregates have been created by a concurrent upload in the meantime
+            newTransaction.executeWithoutResult(status -> create(toolId, property, labels));
+        }
+    }
+
+    private void create(final String toolId, final IssueProperty property, final List<String> labels) {
+        Set<String> existing = new HashSet<>(repository.findLabels(toolId, property, labels));
+        List<HotspotEntity> missing = new ArrayList<>();
+        for (String label : labels) {
+            if (!existing.contains(label)) {
+                missing.add(new HotspotEntity(toolId, property, label));
+            }
+        }
+        repository.saveAllAndFlush(missing);
+    }
+}
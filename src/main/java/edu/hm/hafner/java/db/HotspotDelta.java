@@ -0,0 +1,78 @@
+package edu.hm.hafner.java.db;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.commons.lang3.StringUtils;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.java.db.IssueRepository.StoredIssue;
+
+/**
+ * Collects the changes of the {@link HotspotEntity hotspot aggregates} that are caused by an upload: the inserted
+ * issues are added and the deleted issues are removed. For each aggregated property and value the delta contains the
+ * number of issues for each severity in the order of the {@link SeverityConverter} codes.
+ */
+class HotspotDelta {
+    /** The properties that are aggregated. */
+    static final Set<IssueProperty> PROPERTIES = Collections.unmodifiableSet(EnumSet.of(
+            IssueProperty.FILE_NAME, IssueProperty.PACKAGE_NAME, IssueProperty.MODULE_NAME));
+
+    private static final String UNDEFINED = "-";
+
+    private final Map<IssueProperty, Map<String, int[]>> counts = new EnumMap<>(IssueProperty.class);
+
+    /**
+     * Adds an inserted issue.
+     *
+     * @param issue
+     *         the inserted issue
+     */
+    void add(final Issue issue) {
+        String severity = issue.getSeverity().getName();
+        add(IssueProperty.FILE_NAME, issue.getFileName(), severity, 1);
+        add(IssueProperty.PACKAGE_NAME, issue.getPackageName(), severity, 1);
+        add(IssueProperty.MODULE_NAME, issue.getModuleName(), severity, 1);
+    }
+
+    /**
+     * Removes a deleted issue.
+     *
+     * @param issue
+     *         the deleted issue
+     */
+    void remove(final StoredIssue issue) {
+        add(IssueProperty.FILE_NAME, issue.getFileName(), issue.getSeverity(), -1);
+        add(IssueProperty.PACKAGE_NAME, issue.getPackageName(), issue.getSeverity(), -1);
+        add(IssueProperty.MODULE_NAME, issue.getModuleName(), issue.getSeverity(), -1);
+    }
+
+    private void add(final IssueProperty property, final String label, final String severity, final int amount) {
+        int index = SeverityConverter.indexOf(severity);
+        if (StringUtils.isBlank(label) || UNDEFINED.equals(label) || index < 0) {
+            return;
+        }
+        counts.computeIfAbsent(property, key -> new TreeMap<>())
+                .computeIfAbsent(label, key -> new int[4])[index] += amount;
+    }
+
+    /**
+     * Returns the changes of the specified property. Values whose changes cancel each other out are skipped.
+     *
+     * @param property
+     *         the aggregated property
+     *
+     * @return a mapping of property values to the changes of the number of issues for each severity, ordered by
+     *         property value
+     */
+    Map<String, int[]> getChanges(final IssueProperty property) {
+        Map<String, int[]> changes = new TreeMap<>(counts.getOrDefault(property, Collections.emptyMap()));
+        changes.values().removeIf(severities -> Arrays.stream(severities).allMatch(count -> count == 0));
+        return changes;
+    }
+}
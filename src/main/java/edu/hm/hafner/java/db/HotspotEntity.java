@@ -0,0 +1,110 @@
+package edu.hm.hafner.java.db;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * POJO to store the number of issues of all reports of a static analysis tool that share the same file, package, or
+ * module. These aggregates are updated incrementally whenever a report is uploaded, so the hotspots can be ranked
+ * without reading the issues.
+ */
+@Entity
+@Table(name = "hotspot", indexes = @Index(name = "hotspot_property_tool_label_idx",
+        columnList = "property, tool_id, label", unique = true))
+@SuppressWarnings("PMD.DataClass")
+@SuppressFBWarnings("NP")
+public class HotspotEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private int id;
+
+    @Column(nullable = false)
+    private String toolId;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private IssueProperty property;
+    @Convert(converter = DictionaryConverter.class)
+    @Column(nullable = false)
+    private String label;
+    private int errors;
+    private int high;
+    private int normal;
+    private int low;
+
+    /**
+     * Creates a new instance of {@link HotspotEntity}.
+     */
+    public HotspotEntity() {
+    }
+
+    /**
+     * Creates a new instance of {@link HotspotEntity} without issues.
+     *
+     * @param toolId
+     *         ID of the static analysis tool
+     * @param property
+     *         the property of the issues that is aggregated
+     * @param label
+     *         the value of the property
+     */
+    HotspotEntity(final String toolId, final IssueProperty property, final String label) {
+        this.toolId = toolId;
+        this.property = property;
+        this.label = label;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getToolId() {
+        return toolId;
+    }
+
+    public IssueProperty getProperty() {
+        return property;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public int getErrors() {
+        return errors;
+    }
+
+    public int getHigh() {
+        return high;
+    }
+
+    public int getNormal() {
+        return normal;
+    }
+
+    public int getLow() {
+        return low;
+    }
+
+    /**
+     * Adds the specified number of issues for each severity. Negative numbers remove issues.
+     *
+     * @param counts
+     *         the number of issues for each severity, see {@link HotspotDelta}
+     */
+    void add(final int[] counts) {
+        errors += counts[0];
+        high += counts[1];
+        normal += counts[2];
+        low += counts[3];
+    }
+}
@@ -0,0 +1,51 @@
+package edu.hm.hafner.java.db;
+
+import java.util.Collection;
+import java.util.List;
+import javax.persistence.LockModeType;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * JPA repository to access the {@link HotspotEntity hotspot aggregates}.
+ */
+public interface HotspotRepository extends JpaRepository<HotspotEntity, Integer> {
+    /**
+     * Selects the values of the specified property that already have an aggregate.
+     *
+     * @param toolId
+     *         ID of the static analysis tool
+     * @param property
+     *         the aggregated property
+     * @param labels
+     *         the values to look for
+     *
+     * @return the values that have an aggregate
+     */
+    @Query("SELECT h.label FROM HotspotEntity h "
+            + "WHERE h.toolId = :toolId AND h.property = :property AND h.label IN :labels")
+    List<String> findLabels(@Param("toolId") String toolId, @Param("property") IssueProperty property,
+            @Param("labels") Collection<String> labels);
+
+    /**
+     * Selects and locks the aggregates of the specified values. The rows are locked in the order of their labels (i.e.,
+     * the IDs of the dictionary entries), see {@link HotspotAggregator} for the global order of the locks.
+     *
+     * @param toolId
+     *         ID of the static analysis tool
+     * @param property
+     *         the aggregated property
+     * @param labels
+     *         the values of the aggregates
+     *
+     * @return the locked aggregates
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM HotspotEntity h "
+            + "WHERE h.toolId = :toolId AND h.property = :property AND h.label IN :labels ORDER BY h.label")
+    List<HotspotEntity> findForUpdate(@Param("toolId") String toolId, @Param("property") IssueProperty property,
+            @Param("labels") Collection<String> labels);
+}
@@ -1,47 +1,65 @@
 package edu.hm.hafner.java.db;
 
 import javax.persistence.Column;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 /**
- * POJO to store a {@link IssueEntity} to the database.
+ * POJO to store a {@link IssueEntity} to the database. The repetitive properties are stored as references to the
+ * entries of the {@link Dictionary}, the severity is stored as small integer code.
  *
  * @author Deniz Mardin
  */
 @Entity
-@Table(name = "issues")
+@Table(name = "issues", indexes = {
+        @Index(name = "issues_report_severity_idx", columnList = "issues_id, severity"),
+        @Index(name = "issues_report_category_idx", columnList = "issues_id, category"),
+        @Index(name = "issues_report_type_idx", columnList = "issues_id, type"),
+        @Index(name = "issues_report_id_idx", columnList = "issues_id, id")})
 @SuppressWarnings({"PMD.GodClass", "PMD.TooManyFields"})
 @SuppressFBWarnings("NP")
 public class IssueEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "issues_id_seq")
+    @SequenceGenerator(name = "issues_id_seq", sequenceName = "issues_id_seq", allocationSize = 50)
     private int id;
+    @Convert(converter = DictionaryConverter.class)
     private String category;
     private int columnStart;
     private int columnEnd;
     private String description;
+    @Convert(converter = DictionaryConverter.class)
     private String fileName;
     private String fingerprint;
     private int lineStart;
     private int lineEnd;
     @Column(length = 1024)
     private String message;
+    @Convert(converter = DictionaryConverter.class)
     private String moduleName;
+    @Convert(converter = DictionaryConverter.class)
     private String origin;
+    @Convert(converter = DictionaryConverter.class)
     private String originName;
+    @Convert(converter = DictionaryConverter.class)
     private String packageName;
     private String reference;
+    @Convert(converter = SeverityConverter.class)
     private String severity;
+    @Convert(converter = DictionaryConverter.class)
     private String type;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private ReportEntity issues;
 
     /**
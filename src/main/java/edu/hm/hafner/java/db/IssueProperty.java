@@ -0,0 +1,47 @@
+package edu.hm.hafner.java.db;
+
+/**
+ * Properties of an {@link IssueEntity} that can be used to group issues.
+ */
+public enum IssueProperty {
+    CATEGORY("category"),
+    TYPE("type"),
+    SEVERITY("severity"),
+    PACKAGE_NAME("packageName"),
+    MODULE_NAME("moduleName"),
+    FILE_NAME("fileName");
+
+    private final String attribute;
+
+    IssueProperty(final String attribute) {
+        this.attribute = attribute;
+    }
+
+    /**
+     * Returns the name of the corresponding attribute of {@link IssueEntity}.
+     *
+     * @return the attribute name
+     */
+    public String getAttribute() {
+        return attribute;
+    }
+
+    /**
+     * Returns the property for the specified attribute name of {@link IssueEntity}.
+     *
+     * @param attribute
+     *         the attribute name
+     *
+     * @return the property
+     * @throws IllegalArgumentException
+     *         if there is no property for the specified attribute
+     */
+    public static IssueProperty fromAttribute(final String attribute) {
+        for (IssueProperty property : values()) {
+            if (property.attribute.equals(attribute)) {
+                return property;
+            }
+        }
+        throw new IllegalArgumentException("No such issue property: " + attribute);
+    }
+}
@@ -1,11 +1,231 @@
 package edu.hm.hafner.java.db;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /**
- * JPA repository to access {@link IssueEntity issue entities}.
+ * JPA repository to access {@link IssueEntity issue entities}. Note that the repetitive properties of the issues are
+ * stored as references to a {@link Dictionary}: the issues are grouped by these IDs, so the results are not sorted by
+ * the values of the properties.
  *
  * @author Michael Schmid
  */
 public interface IssueRepository extends JpaRepository<IssueEntity, Integer> {
+    /** Selects the issues of the report with the parameters {@code toolId} and {@code originReportFile}. */
+    String FILTER_BY_REPORT = "WHERE i.issues.toolId = :toolId AND i.issues.originReportFile = :originReportFile ";
+
+    /**
+     * Selects the issues of the specified report. Only the properties that are required to compare the issues with a
+     * new upload are loaded, the issues are not attached to the persistence context.
+     *
+     * @param reportId
+     *         the ID of the report
+     *
+     * @return the issues of the report
+     */
+    @Query("SELECT i.id AS id, i.fingerprint AS fingerprint, i.fileName AS fileName, i.lineStart AS lineStart, "
+            + "i.lineEnd AS lineEnd, i.columnStart AS columnStart, i.columnEnd AS columnEnd, "
+            + "i.category AS category, i.type AS type, i.severity AS severity, i.message AS message, "
+            + "i.description AS description, i.packageName AS packageName, i.moduleName AS moduleName "
+            + "FROM IssueEntity i WHERE i.issues.id = :reportId")
+    List<StoredIssue> findAllOfReport(@Param("reportId") int reportId);
+
+    /**
+     * Deletes the issues with the specified IDs. The issues will not be loaded, they are removed by a single bulk
+     * statement.
+     *
+     * @param ids
+     *         the IDs of the issues
+     *
+     * @return the number of deleted issues
+     */
+    @Modifying
+    @Query("DELETE FROM IssueEntity i WHERE i.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Counts the issues of the specified reports, grouped by report and severity. The issues will not be loaded, the
+     * totals are computed by the database.
+     *
+     * @param reportIds
+     *         the IDs of the reports
+     *
+     * @return the number of issues for each report and severity
+     */
+    @Query("SELECT i.issues.id AS reportId, i.severity AS severity, COUNT(i) AS total FROM IssueEntity i "
+            + "WHERE i.issues.id IN :reportIds GROUP BY i.issues.id, i.severity")
+    List<SeverityCount> countByReportAndSeverity(@Param("reportIds") Collection<Integer> reportIds);
+
+    /**
+     * Counts the issues of the specified report, grouped by category.
+     *
+     * @param toolId
+     *         ID of the static analysis tool
+     * @param originReportFile
+     *         the reference of the report
+     *
+     * @return the number of issues for each category
+     */
+    @Query("SELECT i.category AS label, COUNT(i) AS total FROM IssueEntity i " + FILTER_BY_REPORT
+            + "GROUP BY i.category")
+    List<PropertyCount> countByCategory(@Param("toolId") String toolId,
+            @Param("originReportFile") String originReportFile);
+
+    /**
+     * Counts the issues of the specified report, grouped by type.
+     *
+     * @param toolId
+     *         ID of the static analysis tool
+     * @param originReportFile
+     *         the reference of the report
+     *
+     * @return the number of issues for each type
+     */
+    @Query("SELECT i.type AS label, COUNT(i) AS total FROM IssueEntity i " + FILTER_BY_REPORT
+            + "GROUP BY i.type")
+    List<PropertyCount> countByType(@Param("toolId") String toolId,
+            @Param("originReportFile") String originReportFile);
+
+    /**
+     * Counts the issues of the specified report, grouped by severity.
+     *
+     * @param toolId
+     *         ID of the static analysis tool
+     * @param originReportFile
+     *         the reference of the report
+     *
+     * @return the number of issues for each severity
+     */
+    @Query("SELECT i.severity AS label, COUNT(i) AS total FROM IssueEntity i " + FILTER_BY_REPORT
+            + "GROUP BY i.severity")
+    List<PropertyCount> countBySeverity(@Param("toolId") String toolId,
+            @Param("originReportFile") String originReportFile);
+
+    /**
+     * Counts the issues of the specified report, grouped by package.
+     *
+     * @param toolId
+     *         ID of the static analysis tool
+     * @param originReportFile
+     *         the reference of the report
+     *
+     * @return the number of issues for each package
+     */
+    @Query("SELECT i.packageName AS label, COUNT(i) AS total FROM IssueEntity i " + FILTER_BY_REPORT
+            + "GROUP BY i.packageName")
+    List<PropertyCount> countByPackageName(@Param("toolId") String toolId,
+            @Param("originReportFile") String originReportFile);
+
+    /**
+     * Counts the issues of the specified report, grouped by module.
+     *
+     * @param toolId
+     *         ID of the static analysis tool
+     * @param originReportFile
+     *         the reference of the report
+     *
+     * @return the number of issues for each module
+     */
+    @Query("SELECT i.moduleName AS label, COUNT(i) AS total FROM IssueEntity i " + FILTER_BY_REPORT
+            + "GROUP BY i.moduleName")
+    List<PropertyCount> countByModuleName(@Param("toolId") String toolId,
+            @Param("originReportFile") String originReportFile);
+
+    /**
+     * Counts the issues of the specified report, grouped by file.
+     *
+     * @param toolId
+     *         ID of the static analysis tool
+     * @param originReportFile
+     *         the reference of the report
+     *
+     * @return the number of issues for each file
+     */
+    @Query("SELECT i.fileName AS label, COUNT(i) AS total FROM IssueEntity i " + FILTER_BY_REPORT
+            + "GROUP BY i.fileName")
+    List<PropertyCount> countByFileName(@Param("toolId") String toolId,
+            @Param("originReportFile") String originReportFile);
+
+    /**
+     * Projection that contains the properties of a stored issue that identify the issue in a new upload.
+     */
+    interface StoredIssue {
+        Integer getId();
+
+        String getFingerprint();
+
+        String getFileName();
+
+        Integer getLineStart();
+
+        Integer getLineEnd();
+
+        Integer getColumnStart();
+
+        Integer getColumnEnd();
+
+        String getCategory();
+
+        String getType();
+
+        String getSeverity();
+
+        String getMessage();
+
+        String getDescription();
+
+        String getPackageName();
+
+        String getModuleName();
+    }
+
+    /**
+     * Projection that contains the number of issues of a report with a given severity.
+     */
+    interface SeverityCount {
+        /**
+         * Returns the ID of the report.
+         *
+         * @return the report ID
+         */
+        Integer getReportId();
+
+        /**
+         * Returns the name of the severity.
+         *
+         * @return the severity
+         */
+        String getSeverity();
+
+        /**
+         * Returns the number of issues of the report with the severity.
+         *
+         * @return the number of issues
+         */
+        Long getTotal();
+    }
+
+    /**
+     * Projection that contains the number of issues with a given property value.
+     */
+    interface PropertyCount {
+        /**
+         * Returns the value of the property.
+         *
+         * @return the property value
+         */
+        String getLabel();
+
+        /**
+         * Returns the number of issues with the property value.
+         *
+         * @return the number of issues
+         */
+        Long getTotal();
+    }
 }
@@ -0,0 +1,66 @@
+package edu.hm.hafner.java.db;
+
+/**
+ * An issue that has been found by the full text search. In addition to the properties of the {@link IssueSummary},
+ * the hit refers to the report that contains the issue.
+ */
+public class IssueSearchHit extends IssueSummary {
+    private final int reportId;
+    private final String toolId;
+    private final String originReportFile;
+
+    /**
+     * Creates a new instance of {@link IssueSearchHit}. This constructor is invoked by the JPQL query that selects the
+     * hits.
+     *
+     * @param reportId
+     *         the ID of the report in the database
+     * @param toolId
+     *         ID of the static analysis tool
+     * @param originReportFile
+     *         the reference of the report
+     * @param id
+     *         the ID of the issue in the database
+     * @param severity
+     *         the name of the severity
+     * @param category
+     *         the category of the issue
+     * @param type
+     *         the type of the issue
+     * @param packageName
+     *         the package of the affected file
+     * @param moduleName
+     *         the module of the affected file
+     * @param fileName
+     *         the name of the affected file
+     * @param lineStart
+     *         the first line of the issue
+     * @param lineEnd
+     *         the last line of the issue
+     * @param message
+     *         the message of the issue
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public IssueSearchHit(final int reportId, final String toolId, final String originReportFile, final int id,
+            final String severity, final String category, final String type, final String packageName,
+            final String moduleName, final String fileName, final int lineStart, final int lineEnd,
+            final String message) {
+        super(id, severity, category, type, packageName, moduleName, fileName, lineStart, lineEnd, message);
+
+        this.reportId = reportId;
+        this.toolId = toolId;
+        this.originReportFile = originReportFile;
+    }
+
+    public int getReportId() {
+        return reportId;
+    }
+
+    public String getToolId() {
+        return toolId;
+    }
+
+    public String getOriginReportFile() {
+        return originReportFile;
+    }
+}
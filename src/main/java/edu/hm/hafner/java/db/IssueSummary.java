@@ -0,0 +1,102 @@
+package edu.hm.hafner.java.db;
+
+import edu.hm.hafner.analysis.Issue;
+
+/**
+ * Summary of an {@link Issue} that is stored in the database. The summary contains the properties that are shown in a
+ * listing of the issues of a report and the ID of the issue in the database: this ID is the key of the keyset
+ * pagination of such a listing.
+ */
+public class IssueSummary {
+    private final int id;
+    private final String severity;
+    private final String category;
+    private final String type;
+    private final String packageName;
+    private final String moduleName;
+    private final String fileName;
+    private final int lineStart;
+    private final int lineEnd;
+    private final String message;
+
+    /**
+     * Creates a new instance of {@link IssueSummary}. This constructor is invoked by the JPQL query that selects the
+     * summaries.
+     *
+     * @param id
+     *         the ID of the issue in the database
+     * @param severity
+     *         the name of the severity
+     * @param category
+     *         the category of the issue
+     * @param type
+     *         the type of the issue
+     * @param packageName
+     *         the package of the affected file
+     * @param moduleName
+     *         the module of the affected file
+     * @param fileName
+     *         the name of the affected file
+     * @param lineStart
+     *         the first line of the issue
+     * @param lineEnd
+     *         the last line of the issue
+     * @param message
+     *         the message of the issue
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public IssueSummary(final int id, final String severity, final String category, final String type,
+            final String packageName, final String moduleName, final String fileName, final int lineStart,
+            final int lineEnd, final String message) {
+        this.id = id;
+        this.severity = severity;
+        this.category = category;
+        this.type = type;
+        this.packageName = packageName;
+        this.moduleName = moduleName;
+        this.fileName = fileName;
+        this.lineStart = lineStart;
+        this.lineEnd = lineEnd;
+        this.message = message;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getSeverity() {
+        return severity;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public String getModuleName() {
+        return moduleName;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public int getLineStart() {
+        return lineStart;
+    }
+
+    public int getLineEnd() {
+        return lineEnd;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
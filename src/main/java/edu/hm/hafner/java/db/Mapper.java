@@ -1,7 +1,8 @@
 package edu.hm.hafner.java.db;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 
@@ -15,11 +16,16 @@ import edu.hm.hafner.analysis.Severity;
  * {@link Report} to a {@link ReportEntity} and visa versa. Enables the conversion from a {@link Issue} to a
  * {@link IssueEntity} and visa versa.
  *
+ * <p>
+ * When entities are mapped in a batch, then all issues are created by the same {@link IssueBuilder}, so the issues
+ * share the file name tree of the builder.
+ * </p>
+ *
  * @author Deniz Mardin
  */
 @Service
 public class Mapper {
-     /**
+    /**
      * Converts a {@link ReportEntity} to a {@link Report}.
      *
      * @param reportEntity
@@ -28,11 +34,8 @@ public class Mapper {
      * @return the converted {@link Report}
      */
     public Report map(final ReportEntity reportEntity) {
-        List<Issue> issues = reportEntity.getIssues().stream()
-                .map(this::map)
-                .collect(Collectors.toList());
-
-        return new Report(reportEntity.getToolId(), reportEntity.getToolName(), reportEntity.getOriginReportFile()).addAll(issues);
+        return new Report(reportEntity.getToolId(), reportEntity.getToolName(), reportEntity.getOriginReportFile())
+                .addAll(mapEntities(reportEntity.getIssues()));
     }
 
     /**
@@ -45,14 +48,46 @@ public class Mapper {
      */
     public ReportEntity map(final Report report) {
         ReportEntity reportEntity = new ReportEntity(report.getId(), report.getName(), report.getOriginReportFile());
-        report.forEach(issue -> {
-            IssueEntity issueEntity = map(issue);
-            reportEntity.addIssueEntity(issueEntity);
-        });
+        report.forEach(issue -> reportEntity.addIssueEntity(map(issue)));
 
         return reportEntity;
     }
 
+    /**
+     * Converts a batch of {@link Issue issues} to {@link IssueEntity entities}.
+     *
+     * @param issues
+     *         the issues to convert
+     *
+     * @return the converted entities
+     */
+    public List<IssueEntity> mapIssues(final Collection<? extends Issue> issues) {
+        List<IssueEntity> entities = new ArrayList<>(issues.size());
+        for (Issue issue : issues) {
+            entities.add(map(issue));
+        }
+        return entities;
+    }
+
+    /**
+     * Converts a batch of {@link IssueEntity entities} to {@link Issue issues}. All issues are created by the same
+     * {@link IssueBuilder}.
+     *
+     * @param entities
+     *         the entities to convert
+     *
+     * @return the converted issues
+     */
+    public List<Issue> mapEntities(final Collection<IssueEntity> entities) {
+        List<Issue> issues = new ArrayList<>(entities.size());
+        try (IssueBuilder issueBuilder = new IssueBuilder()) {
+            for (IssueEntity entity : entities) {
+                issues.add(getIssue(issueBuilder, entity));
+            }
+        }
+        return issues;
+    }
+
     /**
      * Converts a {@link Issue} to a {@link IssueEntity}.
      *
@@ -91,50 +126,29 @@ public class Mapper {
      * @return the converted {@link Issue}
      */
     public Issue map(final IssueEntity issueEntity) {
-        return getIssue(
-                issueEntity.getCategory(),
-                issueEntity.getColumnEnd(),
-                issueEntity.getColumnStart(),
-                issueEntity.getDescription(),
-                issueEntity.getFileName(),
-                issueEntity.getFingerprint(),
-                issueEntity.getLineEnd(),
-                issueEntity.getLineStart(),
-                issueEntity.getMessage(),
-                issueEntity.getModuleName(),
-                issueEntity.getOrigin(),
-                issueEntity.getOriginName(),
-                issueEntity.getPackageName(),
-                issueEntity.getReference(),
-                issueEntity.getSeverity(),
-                issueEntity.getType()
-        );
-    }
-
-    @SuppressWarnings("checkstyle:ParameterNumber")
-    private Issue getIssue(final String category, final int columnEnd, final int columnStart,
-            final String description, final String fileName, final String fingerprint, final int lineEnd,
-            final int lineStart, final String message, final String moduleName, final String origin, final String originName,
-            final String packageName, final String reference, final String severity, final String type) {
         try (IssueBuilder issueBuilder = new IssueBuilder()) {
-            return issueBuilder
-                    .setCategory(category)
-                    .setColumnEnd(columnEnd)
-                    .setColumnStart(columnStart)
-                    .setDescription(description)
-                    .setFileName(fileName)
-                    .setFingerprint(fingerprint)
-                    .setLineEnd(lineEnd)
-                    .setLineStart(lineStart)
-                    .setMessage(message)
-                    .setModuleName(moduleName)
-                    .setOrigin(origin)
-                    .setOriginName(originName)
-                    .setPackageName(packageName)
-                    .setReference(reference)
-                    .setSeverity(Severity.valueOf(severity))
-                    .setType(type)
-                    .build();
+            return getIssue(issueBuilder, issueEntity);
         }
     }
+
+    private Issue getIssue(final IssueBuilder issueBuilder, final IssueEntity issueEntity) {
+        return issueBuilder
+                .setCategory(issueEntity.getCategory())
+                .setColumnEnd(issueEntity.getColumnEnd())
+                .setColumnStart(issueEntity.getColumnStart())
+                .setDescription(issueEntity.getDescription())
+                .setFileName(issueEntity.getFileName())
+                .setFingerprint(issueEntity.getFingerprint())
+                .setLineEnd(issueEntity.getLineEnd())
+                .setLineStart(issueEntity.getLineStart())
+                .setMessage(issueEntity.getMessage())
+                .setModuleName(issueEntity.getModuleName())
+                .setOrigin(issueEntity.getOrigin())
+                .setOriginName(issueEntity.getOriginName())
+                .setPackageName(issueEntity.getPackageName())
+                .setReference(issueEntity.getReference())
+                .setSeverity(Severity.valueOf(issueEntity.getSeverity()))
+                .setType(issueEntity.getType())
+                .build();
+    }
 }
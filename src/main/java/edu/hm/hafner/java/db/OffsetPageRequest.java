@@ -0,0 +1,112 @@
+package edu.hm.hafner.java.db;
+
+import java.util.Objects;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+/**
+ * A {@link Pageable} that starts at an arbitrary row. In contrast to a
+ * {@link org.springframework.data.domain.PageRequest} the offset does not need to be a multiple of the page size: a
+ * DataTable requests the index of the first row, which is not aligned to the page size if the user changes the page
+ * size while scrolling through the table.
+ */
+public class OffsetPageRequest implements Pageable {
+    private final long offset;
+    private final int size;
+    private final Sort sort;
+
+    /**
+     * Creates a new instance of {@link OffsetPageRequest}.
+     *
+     * @param offset
+     *         the index of the first row, must not be negative
+     * @param size
+     *         the number of rows, must be positive
+     * @param sort
+     *         the sort order of the rows
+     *
+     * @throws IllegalArgumentException
+     *         if the offset is negative or the size is not positive
+     */
+    public OffsetPageRequest(final long offset, final int size, final Sort sort) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative: " + offset);
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Size must be positive: " + size);
+        }
+        this.offset = offset;
+        this.size = size;
+        this.sort = sort;
+    }
+
+    @Override
+    public int getPageNumber() {
+        return (int) (offset / size);
+    }
+
+    @Override
+    public int getPageSize() {
+        return size;
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public Sort getSort() {
+        return sort;
+    }
+
+    @Override
+    public Pageable next() {
+        return new OffsetPageRequest(offset + size, size, sort);
+    }
+
+    @Override
+    public Pageable previousOrFirst() {
+        return new OffsetPageRequest(Math.max(0, offset - size), size, sort);
+    }
+
+    @Override
+    public Pageable first() {
+        return new OffsetPageRequest(0, size, sort);
+    }
+
+    @Override
+    public Pageable withPage(final int pageNumber) {
+        return new OffsetPageRequest((long) pageNumber * size, size, sort);
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return offset > 0;
+    }
+
+    @Override
+    public boolean equals(@CheckForNull final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        OffsetPageRequest that = (OffsetPageRequest) o;
+        return offset == that.offset && size == that.size && sort.equals(that.sort);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(offset, size, sort);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Offset request [offset: %d, size %d, sort: %s]", offset, size, sort);
+    }
+}
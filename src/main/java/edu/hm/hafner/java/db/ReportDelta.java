@@ -0,0 +1,47 @@
+package edu.hm.hafner.java.db;
+
+/**
+ * The changes of a stored report caused by an upload: the uploaded issues are compared with the issues of the previous
+ * upload of the same tool and reference.
+ */
+public class ReportDelta {
+    private final int reportId;
+    private final int newIssues;
+    private final int fixedIssues;
+    private final int outstandingIssues;
+
+    /**
+     * Creates a new instance of {@link ReportDelta}.
+     *
+     * @param reportId
+     *         the ID of the report in the database
+     * @param newIssues
+     *         the number of issues that are part of the upload only
+     * @param fixedIssues
+     *         the number of issues that are part of the previous upload only
+     * @param outstandingIssues
+     *         the number of issues that are part of both uploads
+     */
+    public ReportDelta(final int reportId, final int newIssues, final int fixedIssues, final int outstandingIssues) {
+        this.reportId = reportId;
+        this.newIssues = newIssues;
+        this.fixedIssues = fixedIssues;
+        this.outstandingIssues = outstandingIssues;
+    }
+
+    public int getReportId() {
+        return reportId;
+    }
+
+    public int getNewIssues() {
+        return newIssues;
+    }
+
+    public int getFixedIssues() {
+        return fixedIssues;
+    }
+
+    public int getOutstandingIssues() {
+        return outstandingIssues;
+    }
+}
@@ -0,0 +1,153 @@
+package edu.hm.hafner.java.db;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.java.db.IssueRepository.StoredIssue;
+
+/**
+ * Compares the issues of an uploaded report with the stored issues of the previous upload. Both sets of issues are
+ * multisets: identical issues may occur several times.
+ *
+ * <p>
+ * An uploaded issue is outstanding if there is a stored issue with the same content (all properties but the ID and
+ * the reference). Such issues are not touched in the database. The remaining uploaded issues are matched by their
+ * fingerprint: an issue with the same fingerprint has been moved or changed and is outstanding as well, but the
+ * stored issue needs to be replaced. Uploaded issues without a match are new, stored issues without a match are fixed.
+ * </p>
+ */
+class ReportDiff {
+    private static final String UNDEFINED_FINGERPRINT = "-";
+
+    private final List<Issue> insertions = new ArrayList<>();
+    private final List<StoredIssue> deletions = new ArrayList<>();
+    private int newIssues;
+    private int fixedIssues;
+    private int outstandingIssues;
+
+    /**
+     * Creates the differences between the stored and the uploaded issues.
+     *
+     * @param stored
+     *         the issues of the previous upload
+     * @param uploaded
+     *         the issues of the new upload
+     */
+    ReportDiff(final List<StoredIssue> stored, final Iterable<Issue> uploaded) {
+        Map<List<Object>, Deque<StoredIssue>> storedByContent = new HashMap<>();
+        for (StoredIssue issue : stored) {
+            storedByContent.computeIfAbsent(getContent(issue), key -> new ArrayDeque<>()).add(issue);
+        }
+
+        List<Issue> unmatched = new ArrayList<>();
+        for (Issue issue : uploaded) {
+            Deque<StoredIssue> candidates = storedByContent.get(getContent(issue));
+            if (candidates == null || candidates.isEmpty()) {
+                unmatched.add(issue);
+            }
+            else {
+                candidates.remove();
+                outstandingIssues++;
+            }
+        }
+
+        Map<String, Deque<StoredIssue>> storedByFingerprint = new HashMap<>();
+        for (Deque<StoredIssue> remaining : storedByContent.values()) {
+            for (StoredIssue issue : remaining) {
+                if (hasFingerprint(issue.getFingerprint())) {
+                    storedByFingerprint.computeIfAbsent(issue.getFingerprint(), key -> new ArrayDeque<>()).add(issue);
+                }
+                else {
+                    fix(issue);
+                }
+            }
+        }
+
+        for (Issue issue : unmatched) {
+            insertions.add(issue);
+
+            Deque<StoredIssue> candidates = hasFingerprint(issue.getFingerprint())
+                    ? storedByFingerprint.get(issue.getFingerprint()) : null;
+            if (candidates == null || candidates.isEmpty()) {
+                newIssues++;
+            }
+            else {
+                deletions.add(candidates.remove());
+                outstandingIssues++;
+            }
+        }
+
+        storedByFingerprint.values().forEach(remaining -> remaining.forEach(this::fix));
+    }
+
+    private void fix(final StoredIssue issue) {
+        deletions.add(issue);
+        fixedIssues++;
+    }
+
+    private boolean hasFingerprint(final String fingerprint) {
+        return StringUtils.isNotBlank(fingerprint) && !UNDEFINED_FINGERPRINT.equals(fingerprint);
+    }
+
+    private List<Object> getContent(final Issue issue) {
+        return Arrays.asList(issue.getFingerprint(), issue.getFileName(), issue.getLineStart(), issue.getLineEnd(),
+                issue.getColumnStart(), issue.getColumnEnd(), issue.getCategory(), issue.getType(),
+                issue.getSeverity().getName(), issue.getMessage(), issue.getDescription(), issue.getPackageName(),
+                issue.getModuleName());
+    }
+
+    private List<Object> getContent(final StoredIssue issue) {
+        return Arrays.asList(issue.getFingerprint(), issue.getFileName(), issue.getLineStart(), issue.getLineEnd(),
+                issue.getColumnStart(), issue.getColumnEnd(), issue.getCategory(), issue.getType(),
+                issue.getSeverity(), issue.getMessage(), issue.getDescription(), issue.getPackageName(),
+                issue.getModuleName());
+    }
+
+    /**
+     * Returns the uploaded issues that need to be inserted.
+     *
+     * @return the new and the changed issues
+     */
+    List<Issue> getInsertions() {
+        return insertions;
+    }
+
+    /**
+     * Returns the IDs of the stored issues that need to be deleted.
+     *
+     * @return the IDs of the fixed and the changed issues
+     */
+    List<Integer> getDeletions() {
+        return deletions.stream().map(StoredIssue::getId).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the stored issues that need to be deleted.
+     *
+     * @return the fixed and the changed issues
+     */
+    List<StoredIssue> getDeletedIssues() {
+        return deletions;
+    }
+
+    int getNewIssues() {
+        return newIssues;
+    }
+
+    int getFixedIssues() {
+        return fixedIssues;
+    }
+
+    int getOutstandingIssues() {
+        return outstandingIssues;
+    }
+}
@@ -5,9 +5,11 @@ import java.util.List;
 import java.util.Objects;
 import javax.persistence.CascadeType;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
 
@@ -18,7 +20,8 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
  * POJO to store a {@link ReportEntity} to the database.
  */
 @Entity
-@Table(name = "report")
+@Table(name = "report", indexes = @Index(name = "report_tool_id_origin_report_file_idx",
+        columnList = "tool_id, origin_report_file", unique = true))
 @SuppressWarnings("PMD.DataClass")
 @SuppressFBWarnings("NP")
 public class ReportEntity {
@@ -29,8 +32,9 @@ public class ReportEntity {
     private String toolId;
     private String toolName;
     private String originReportFile;
+    private int build;
 
-    @OneToMany(mappedBy = "issues", cascade = CascadeType.ALL)
+    @OneToMany(mappedBy = "issues", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<IssueEntity> issues;
 
     ReportEntity(final String toolId, final String toolName, final String originReportFile) {
@@ -79,6 +83,30 @@ public class ReportEntity {
         this.originReportFile = originReportFile;
     }
 
+    /**
+     * Returns the build number of the latest upload of this report. The build number is incremented with each upload
+     * of a report with the same tool ID and reference.
+     *
+     * @return the build number, or 0 if the report has not been uploaded yet
+     */
+    public int getBuild() {
+        return build;
+    }
+
+    public void setBuild(final int build) {
+        this.build = build;
+    }
+
+    /**
+     * Increments the build number for a new upload of this report.
+     *
+     * @return the new build number
+     */
+    int nextBuild() {
+        build++;
+        return build;
+    }
+
     /**
      * Returns the issues of the {@link ReportEntity}.
      *
@@ -129,6 +157,6 @@ public class ReportEntity {
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, toolId, toolName, originReportFile, issues);
+        return Objects.hash(id, toolId, toolName, originReportFile); // do not load the lazy issues
     }
 }
@@ -1,15 +1,27 @@
 package edu.hm.hafner.java.db;
 
+import java.util.List;
 import java.util.Optional;
+import javax.persistence.LockModeType;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /**
- * JPA repository to access {@link ReportEntity report entities}.
+ * JPA repository to access {@link ReportEntity report entities}. The issues of a report are loaded lazily: only the
+ * queries that explicitly request them will fetch the issues together with the report.
  *
  * @author Michael Schmid
  */
 public interface ReportRepository extends JpaRepository<ReportEntity, Integer> {
+    /** The escape character of the {@code LIKE} patterns of {@link #findAllMatching(String, Pageable)}. */
+    String LIKE_ESCAPE = "\\";
+
     /**
      * Selects all issues with the specified reference. The matching issues will be ordered by origin.
      *
@@ -20,5 +32,70 @@ public interface ReportRepository extends JpaRepository<ReportEntity, Integer> {
      *
      * @return the matching ordered list of issues
      */
+    @EntityGraph(attributePaths = "issues")
     Optional<ReportEntity> findByToolIdAndOriginReportFile(String toolId, String originReportFile);
+
+    /**
+     * Selects and locks the report with the specified tool ID and reference. Since these properties are unique, there
+     * is at most one such report. The lock is held until the end of the transaction, so concurrent uploads of the same
+     * report are written one after the other.
+     *
+     * @param toolId
+     *         ID of the static analysis tool
+     * @param originReportFile
+     *         the reference of the report
+     *
+     * @return the locked report, or an empty optional if there is no such report
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM ReportEntity r WHERE r.toolId = :toolId AND r.originReportFile = :originReportFile")
+    Optional<ReportEntity> findForUpdate(@Param("toolId") String toolId,
+            @Param("originReportFile") String originReportFile);
+
+    /**
+     * Selects the report with the specified ID. The issues of the report will be fetched using the same query.
+     *
+     * @param id
+     *         the ID of the report
+     *
+     * @return the report with its issues
+     */
+    @EntityGraph(attributePaths = "issues")
+    Optional<ReportEntity> findWithIssuesById(int id);
+
+    /**
+     * Selects all reports. The issues of the reports will be fetched using the same query.
+     *
+     * @return all reports with their issues
+     */
+    @Query("SELECT DISTINCT r FROM ReportEntity r LEFT JOIN FETCH r.issues")
+    List<ReportEntity> findAllWithIssues();
+
+    /**
+     * Returns whether a report with the specified tool ID and reference exists.
+     *
+     * @param toolId
+     *         ID of the static analysis tool
+     * @param originReportFile
+     *         ID of report
+     *
+     * @return {@code true} if such a report exists, {@code false} otherwise
+     */
+    boolean existsByToolIdAndOriginReportFile(String toolId, String originReportFile);
+
+    /**
+     * Selects a page of the reports whose tool ID, tool name, or origin report file match the specified pattern.
+     *
+     * @param pattern
+     *         the lower case pattern to match, see JPQL {@code LIKE} operator. Literal wildcards must be escaped with
+     *         {@link #LIKE_ESCAPE}.
+     * @param pageable
+     *         the page to select and the sort order
+     *
+     * @return the matching page of reports
+     */
+    @Query("SELECT r FROM ReportEntity r WHERE LOWER(r.toolId) LIKE :pattern ESCAPE '\\' "
+            + "OR LOWER(r.toolName) LIKE :pattern ESCAPE '\\' "
+            + "OR LOWER(r.originReportFile) LIKE :pattern ESCAPE '\\'")
+    Page<ReportEntity> findAllMatching(@Param("pattern") String pattern, Pageable pageable);
 }
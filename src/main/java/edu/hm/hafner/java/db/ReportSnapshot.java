@@ -0,0 +1,83 @@
+package edu.hm.hafner.java.db;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import edu.hm.hafner.analysis.Severity;
+
+/**
+ * The totals of a single build of a report that is stored in the database. Rather than being computed from the
+ * stored issues, the totals have been recorded when the build has been uploaded.
+ */
+public class ReportSnapshot {
+    private final int build;
+    private final Instant created;
+    private final int size;
+    private final Map<Severity, Integer> sizes = new HashMap<>();
+    private final int newIssues;
+    private final int fixedIssues;
+
+    /**
+     * Creates a new instance of {@link ReportSnapshot}.
+     *
+     * @param build
+     *         the build number of the upload
+     * @param created
+     *         the time of the upload
+     * @param size
+     *         the total number of issues of the upload
+     * @param sizes
+     *         the number of issues for each severity
+     * @param newIssues
+     *         the number of issues that are not part of the previous build
+     * @param fixedIssues
+     *         the number of issues of the previous build that are not part of this build anymore
+     */
+    public ReportSnapshot(final int build, final Instant created, final int size, final Map<Severity, Integer> sizes,
+            final int newIssues, final int fixedIssues) {
+        this.build = build;
+        this.created = created;
+        this.size = size;
+        this.sizes.putAll(sizes);
+        this.newIssues = newIssues;
+        this.fixedIssues = fixedIssues;
+    }
+
+    public int getBuild() {
+        return build;
+    }
+
+    public Instant getCreated() {
+        return created;
+    }
+
+    /**
+     * Returns the total number of issues of the build.
+     *
+     * @return the number of issues
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of issues with the specified severity.
+     *
+     * @param severity
+     *         the severity of the issues
+     *
+     * @return the number of issues with the specified severity
+     */
+    public int getSizeOf(final Severity severity) {
+        return sizes.getOrDefault(severity, 0);
+    }
+
+    public int getNewIssues() {
+        return newIssues;
+    }
+
+    public int getFixedIssues() {
+        return fixedIssues;
+    }
+}
@@ -0,0 +1,79 @@
+package edu.hm.hafner.java.db;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.analysis.Severity;
+
+/**
+ * Summary of a {@link Report} that is stored in the database. Rather than containing the issues, the summary provides
+ * the number of issues for each severity. These totals are computed by the database.
+ */
+public class ReportSummary {
+    private final int id;
+    private final String toolId;
+    private final String toolName;
+    private final String originReportFile;
+    private final Map<Severity, Integer> sizes = new HashMap<>();
+
+    /**
+     * Creates a new instance of {@link ReportSummary}.
+     *
+     * @param id
+     *         the ID of the report in the database
+     * @param toolId
+     *         ID of the static analysis tool
+     * @param toolName
+     *         name of the static analysis tool
+     * @param originReportFile
+     *         the reference of the report
+     * @param sizes
+     *         the number of issues for each severity
+     */
+    public ReportSummary(final int id, final String toolId, final String toolName, final String originReportFile,
+            final Map<Severity, Integer> sizes) {
+        this.id = id;
+        this.toolId = toolId;
+        this.toolName = toolName;
+        this.originReportFile = originReportFile;
+        this.sizes.putAll(sizes);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getToolId() {
+        return toolId;
+    }
+
+    public String getToolName() {
+        return toolName;
+    }
+
+    public String getOriginReportFile() {
+        return originReportFile;
+    }
+
+    /**
+     * Returns the total number of issues of the report.
+     *
+     * @return the number of issues
+     */
+    public int getSize() {
+        return sizes.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * Returns the number of issues with the specified severity.
+     *
+     * @param severity
+     *         the severity of the issues
+     *
+     * @return the number of issues with the specified severity
+     */
+    public int getSizeOf(final Severity severity) {
+        return sizes.getOrDefault(severity, 0);
+    }
+}
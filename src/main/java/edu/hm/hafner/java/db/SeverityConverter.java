@@ -0,0 +1,70 @@
+package edu.hm.hafner.java.db;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+import edu.hm.hafner.analysis.Severity;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+/**
+ * Stores the {@link Severity} of an {@link IssueEntity} as small integer code.
+ */
+@Converter
+public class SeverityConverter implements AttributeConverter<String, Short> {
+    private static final Severity[] SEVERITIES = {
+            Severity.ERROR, Severity.WARNING_HIGH, Severity.WARNING_NORMAL, Severity.WARNING_LOW};
+
+    /**
+     * Returns whether the specified severity can be stored by this converter.
+     *
+     * @param name
+     *         the name of the severity
+     *
+     * @return {@code true} if the severity is supported, {@code false} otherwise
+     */
+    static boolean isSupported(final String name) {
+        return indexOf(name) >= 0;
+    }
+
+    /**
+     * Returns the index of the specified severity in the order of the codes, i.e. the code of the severity minus one.
+     *
+     * @param name
+     *         the name of the severity
+     *
+     * @return the index of the severity, or -1 if the severity is not supported
+     */
+    static int indexOf(final String name) {
+        for (int i = 0; i < SEVERITIES.length; i++) {
+            if (SEVERITIES[i].getName().equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    @CheckForNull
+    public Short convertToDatabaseColumn(@CheckForNull final String attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        int index = indexOf(attribute);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unsupported severity " + attribute);
+        }
+        return (short) (index + 1);
+    }
+
+    @Override
+    @CheckForNull
+    public String convertToEntityAttribute(@CheckForNull final Short code) {
+        if (code == null) {
+            return null;
+        }
+        if (code < 1 || code > SEVERITIES.length) {
+            throw new IllegalArgumentException("Unsupported severity code " + code);
+        }
+        return SEVERITIES[code - 1].getName();
+    }
+}
@@ -0,0 +1,122 @@
+package edu.hm.hafner.java.db;
+
+import java.time.Instant;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.analysis.Severity;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * POJO to store the totals of a single upload (build) of a report. The snapshots are written when a report is
+ * uploaded, so the history of a report can be shown without reading the issues.
+ */
+@Entity
+@Table(name = "report_snapshot", indexes = @Index(name = "report_snapshot_report_build_idx",
+        columnList = "report_id, build", unique = true))
+@SuppressWarnings("PMD.DataClass")
+@SuppressFBWarnings("NP")
+public class SnapshotEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private int id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "report_id")
+    private ReportEntity report;
+
+    private int build;
+    private Instant created;
+    private int total;
+    private int errors;
+    private int high;
+    private int normal;
+    private int low;
+    private int newIssues;
+    private int fixedIssues;
+
+    /**
+     * Creates a new instance of {@link SnapshotEntity}.
+     */
+    public SnapshotEntity() {
+        created = Instant.now();
+    }
+
+    /**
+     * Creates a new instance of {@link SnapshotEntity} with the totals of the specified report.
+     *
+     * @param report
+     *         the stored report
+     * @param build
+     *         the build number of the upload
+     * @param uploaded
+     *         the uploaded issues
+     * @param delta
+     *         the changes compared with the previous build
+     */
+    SnapshotEntity(final ReportEntity report, final int build, final Report uploaded, final ReportDelta delta) {
+        this();
+
+        this.report = report;
+        this.build = build;
+        total = uploaded.size();
+        errors = uploaded.getSizeOf(Severity.ERROR);
+        high = uploaded.getSizeOf(Severity.WARNING_HIGH);
+        normal = uploaded.getSizeOf(Severity.WARNING_NORMAL);
+        low = uploaded.getSizeOf(Severity.WARNING_LOW);
+        newIssues = delta.getNewIssues();
+        fixedIssues = delta.getFixedIssues();
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public ReportEntity getReport() {
+        return report;
+    }
+
+    public int getBuild() {
+        return build;
+    }
+
+    public Instant getCreated() {
+        return created;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getErrors() {
+        return errors;
+    }
+
+    public int getHigh() {
+        return high;
+    }
+
+    public int getNormal() {
+        return normal;
+    }
+
+    public int getLow() {
+        return low;
+    }
+
+    public int getNewIssues() {
+        return newIssues;
+    }
+
+    public int getFixedIssues() {
+        return fixedIssues;
+    }
+}
@@ -0,0 +1,31 @@
+package edu.hm.hafner.java.db;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * JPA repository to access the {@link SnapshotEntity snapshots} of the reports.
+ */
+public interface SnapshotRepository extends JpaRepository<SnapshotEntity, Integer> {
+    /**
+     * Selects the snapshots of the latest builds of the specified report, the latest build first. The snapshots are
+     * selected by a single query that uses the unique indexes of the report and snapshot tables.
+     *
+     * @param toolId
+     *         ID of the static analysis tool
+     * @param originReportFile
+     *         the reference of the report
+     * @param pageable
+     *         the number of builds to select
+     *
+     * @return the snapshots of the latest builds
+     */
+    @Query("SELECT s FROM SnapshotEntity s WHERE s.report.toolId = :toolId "
+            + "AND s.report.originReportFile = :originReportFile ORDER BY s.build DESC")
+    List<SnapshotEntity> findLatest(@Param("toolId") String toolId,
+            @Param("originReportFile") String originReportFile, Pageable pageable);
+}
@@ -0,0 +1,145 @@
+package edu.hm.hafner.java.uc;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+/**
+ * The state of an uploaded report that is parsed and stored in the background by the {@link IngestionService}. The
+ * state is updated by the worker thread and read by the threads that serve the status requests.
+ */
+public class IngestionJob {
+    /** The steps of an ingestion job. */
+    public enum State {
+        /** The job is waiting for a free worker thread. */
+        QUEUED,
+        /** The report is parsed. */
+        PARSING,
+        /** The issues of the report are stored in the database. */
+        PERSISTING,
+        /** The report has been stored completely. */
+        FINISHED,
+        /** The report could not be parsed or stored. */
+        FAILED
+    }
+
+    private final String id;
+    private final String tool;
+    private final String reference;
+    private final AtomicInteger parsedIssues = new AtomicInteger();
+    private final AtomicInteger persistedIssues = new AtomicInteger();
+    private volatile int newIssues;
+    private volatile int fixedIssues;
+    private volatile State state = State.QUEUED;
+    @CheckForNull
+    private volatile String error;
+
+    /**
+     * Creates a new instance of {@link IngestionJob}.
+     *
+     * @param id
+     *         the ID of the job
+     * @param tool
+     *         the ID of the static analysis tool
+     * @param reference
+     *         the reference of the report
+     */
+    public IngestionJob(final String id, final String tool, final String reference) {
+        this.id = id;
+        this.tool = tool;
+        this.reference = reference;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getTool() {
+        return tool;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Returns the number of issues that have been parsed so far. The number is updated after each parsed report file
+     * (or entry of a zip archive) and contains the number of issues of the merged report when the job is persisting
+     * the issues.
+     *
+     * @return the number of parsed issues
+     */
+    public int getParsedIssues() {
+        return parsedIssues.get();
+    }
+
+    public int getPersistedIssues() {
+        return persistedIssues.get();
+    }
+
+    /**
+     * Returns the number of issues that are not part of the previous upload of the report. Available if the job is
+     * finished.
+     *
+     * @return the number of new issues
+     */
+    public int getNewIssues() {
+        return newIssues;
+    }
+
+    /**
+     * Returns the number of issues of the previous upload of the report that are not part of this upload anymore.
+     * Available if the job is finished.
+     *
+     * @return the number of fixed issues
+     */
+    public int getFixedIssues() {
+        return fixedIssues;
+    }
+
+    @CheckForNull
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Returns whether this job is finished, either successfully or with a failure.
+     *
+     * @return {@code true} if the job is finished, {@code false} if it is still queued or running
+     */
+    public boolean isDone() {
+        return state == State.FINISHED || state == State.FAILED;
+    }
+
+    void parsing() {
+        state = State.PARSING;
+    }
+
+    void parsedFile(final int size) {
+        parsedIssues.addAndGet(size);
+    }
+
+    void parsed(final int size) {
+        parsedIssues.set(size);
+        state = State.PERSISTING;
+    }
+
+    void persisted(final int size) {
+        persistedIssues.set(size);
+    }
+
+    void finish(final int newCount, final int fixedCount) {
+        newIssues = newCount;
+        fixedIssues = fixedCount;
+        state = State.FINISHED;
+    }
+
+    void fail(final String message) {
+        error = message;
+        state = State.FAILED;
+    }
+}
@@ -0,0 +1,32 @@
+package edu.hm.hafner.java.uc;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Thrown if an upload is rejected since there are already too many uploads waiting to be processed. The client should
+ * retry the upload after the suggested delay.
+ */
+public class IngestionRejectedException extends RejectedExecutionException {
+    private static final long serialVersionUID = -3409862140212806316L;
+
+    private final Duration retryAfter;
+
+    /**
+     * Creates a new instance of {@link IngestionRejectedException}.
+     *
+     * @param retryAfter
+     *         the suggested delay before the upload should be retried
+     * @param cause
+     *         the rejection of the executor
+     */
+    public IngestionRejectedException(final Duration retryAfter, final Throwable cause) {
+        super("Too many uploads are waiting to be processed, retry after " + retryAfter.getSeconds() + " seconds",
+                cause);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
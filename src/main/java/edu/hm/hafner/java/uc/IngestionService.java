@@ -0,0 +1,341 @@
+package edu.hm.hafner.java.uc;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.zip.ZipFile;
+import javax.annotation.PreDestroy;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import edu.hm.hafner.analysis.ReaderFactory;
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.java.db.ReportDelta;
+import edu.hm.hafner.java.util.Compression;
+import edu.hm.hafner.java.util.InputStreamSourceReaderFactory;
+import edu.hm.hafner.java.util.SpooledReaderFactory;
+import edu.hm.hafner.util.VisibleForTesting;
+
+/**
+ * Parses and stores uploaded reports in the background. The reports are processed by a bounded pool of worker
+ * threads, the progress of each upload is available as {@link IngestionJob} until one hour after the job has been
+ * created. An upload may consist of several report files or zip archives of report files: these files are parsed in
+ * parallel by a bounded fork-join pool and the issues are merged into a single report.
+ *
+ * <p>
+ * Since a parsed report is held completely in memory, the uploads are subject to an admission control: an upload is
+ * parsed only if its estimated memory consumption fits into the configured {@link MemoryBudget}, otherwise it waits
+ * in the queue until the running uploads are finished. If the queue is full, then new uploads are rejected with an
+ * {@link IngestionRejectedException}. The queue depth, the number of running uploads, the reserved memory, the wait
+ * times, and the rejections are published as metrics {@code ingestion.*}.
+ * </p>
+ */
+@Service
+public class IngestionService {
+    private static final Duration JOB_RETENTION = Duration.ofHours(1);
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+    /** Estimated ratio of the size of a compressed report file to the size of the uncompressed report file. */
+    private static final int COMPRESSION_RATIO = 10;
+
+    private final IssuesService issuesService;
+    private final ExecutorService executor;
+    private final ForkJoinPool parsers;
+    private final MemoryBudget memoryBudget;
+    private final Duration retryAfter;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private final Timer waitTimer;
+    private final Counter rejections;
+    private final Cache<String, IngestionJob> jobs = Caffeine.newBuilder()
+            .expireAfterWrite(JOB_RETENTION)
+            .build();
+
+    /**
+     * Creates a new instance of {@link IngestionService}.
+     *
+     * @param issuesService
+     *         service to parse and store the reports
+     * @param threads
+     *         the number of worker threads
+     * @param queueCapacity
+     *         the number of uploads that may wait for a free worker thread, additional uploads will be rejected
+     * @param parserThreads
+     *         the number of threads that parse the files of the uploads, shared by all worker threads
+     * @param memoryBudget
+     *         the heap memory that may be used by the uploads that are processed concurrently
+     * @param expansionFactor
+     *         the estimated number of heap bytes that are required for each byte of an uploaded report file
+     * @param retryAfter
+     *         the delay that is suggested to clients whose uploads have been rejected
+     * @param registry
+     *         the registry of the ingestion metrics
+     */
+    @Autowired
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public IngestionService(final IssuesService issuesService,
+            @Value("${ingestion.threads:2}") final int threads,
+            @Value("${ingestion.queue-capacity:16}") final int queueCapacity,
+            @Value("${ingestion.parser-threads:4}") final int parserThreads,
+            @Value("${ingestion.memory-budget:512MB}") final DataSize memoryBudget,
+            @Value("${ingestion.memory-expansion-factor:8}") final int expansionFactor,
+            @Value("${ingestion.retry-after:30s}") final Duration retryAfter,
+            final MeterRegistry registry) {
+        this(issuesService, new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(queueCapacity)), new ForkJoinPool(parserThreads),
+                new MemoryBudget(memoryBudget.toBytes(), expansionFactor), retryAfter, registry);
+    }
+
+    @VisibleForTesting
+    IngestionService(final IssuesService issuesService, final ExecutorService executor, final ForkJoinPool parsers) {
+        this(issuesService, executor, parsers, new MemoryBudget(Long.MAX_VALUE, 1), Duration.ofSeconds(1),
+                new SimpleMeterRegistry());
+    }
+
+    @VisibleForTesting
+    IngestionService(final IssuesService issuesService, final ExecutorService executor, final ForkJoinPool parsers,
+            final MemoryBudget memoryBudget, final Duration retryAfter, final MeterRegistry registry) {
+        this.issuesService = issuesService;
+        this.executor = executor;
+        this.parsers = parsers;
+        this.memoryBudget = memoryBudget;
+        this.retryAfter = retryAfter;
+
+        registry.gauge("ingestion.queued", queued);
+        registry.gauge("ingestion.running", running);
+        registry.gauge("ingestion.memory.reserved", memoryBudget, MemoryBudget::getReserved);
+        waitTimer = Timer.builder("ingestion.wait")
+                .description("Time an upload waits for a worker thread and memory before it is parsed")
+                .register(registry);
+        rejections = Counter.builder("ingestion.rejected")
+                .description("Uploads that have been rejected since the queue was full")
+                .register(registry);
+    }
+
+    /**
+     * Submits a new upload of a single report file. The specified file will be parsed and stored in the background,
+     * afterwards it will be deleted.
+     *
+     * @param tool
+     *         ID of the static analysis tool
+     * @param reference
+     *         a reference to the report, e.g. a URL of the build, a file name, etc.
+     * @param fileName
+     *         the name of the uploaded file
+     * @param spool
+     *         the temporary file that contains the uploaded report
+     *
+     * @return the job that reports the progress of the upload
+     * @throws IngestionRejectedException
+     *         if there are already too many uploads waiting
+     */
+    public IngestionJob submit(final String tool, final String reference, final String fileName, final Path spool) {
+        return submit(tool, reference, Collections.singletonList(new SpooledFile(fileName, spool)));
+    }
+
+    /**
+     * Submits a new upload of several report files. The specified files will be parsed and stored in the background
+     * as a single report, afterwards they will be deleted. Zip archives are expanded: each file of the archive is
+     * parsed as a report file. Files that are compressed with gzip or Zstandard are decompressed while they are
+     * parsed.
+     *
+     * @param tool
+     *         ID of the static analysis tool
+     * @param reference
+     *         a reference to the report, e.g. a URL of the build, a file name, etc.
+     * @param files
+     *         the temporary files that contain the uploaded reports or archives
+     *
+     * @return the job that reports the progress of the upload
+     * @throws IngestionRejectedException
+     *         if there are already too many uploads waiting
+     */
+    public IngestionJob submit(final String tool, final String reference, final List<SpooledFile> files) {
+        IngestionJob job = new IngestionJob(UUID.randomUUID().toString(), tool, reference);
+        jobs.put(job.getId(), job);
+        long submitted = System.nanoTime();
+        queued.incrementAndGet();
+        try {
+            executor.execute(() -> admit(job, files, submitted));
+        }
+        catch (RejectedExecutionException exception) {
+            queued.decrementAndGet();
+            rejections.increment();
+            jobs.invalidate(job.getId());
+            files.forEach(file -> delete(file.getPath()));
+
+            throw new IngestionRejectedException(retryAfter, exception);
+        }
+        return job;
+    }
+
+    /**
+     * Returns the job with the specified ID.
+     *
+     * @param id
+     *         the ID of the job
+     *
+     * @return the job, or an empty optional if there is no such job or the job has been expired
+     */
+    public Optional<IngestionJob> getJob(final String id) {
+        return Optional.ofNullable(jobs.getIfPresent(id));
+    }
+
+    private void admit(final IngestionJob job, final List<SpooledFile> files, final long submitted) {
+        int reservation;
+        try {
+            reservation = memoryBudget.reserve(estimateSize(files));
+        }
+        catch (IOException exception) {
+            reservation = 0;
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            queued.decrementAndGet();
+            job.fail("Upload has been canceled");
+            files.forEach(file -> delete(file.getPath()));
+
+            return;
+        }
+        queued.decrementAndGet();
+        waitTimer.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+        running.incrementAndGet();
+        try {
+            ingest(job, files);
+        }
+        finally {
+            running.decrementAndGet();
+            memoryBudget.release(reservation);
+        }
+    }
+
+    private long estimateSize(final List<SpooledFile> files) throws IOException {
+        long size = 0;
+        for (SpooledFile file : files) {
+            long fileSize = Files.size(file.getPath());
+            size += file.getCompression() == Compression.NONE ? fileSize : fileSize * COMPRESSION_RATIO;
+        }
+        return size;
+    }
+
+    private void ingest(final IngestionJob job, final List<SpooledFile> files) {
+        List<ZipFile> archives = new ArrayList<>();
+        try {
+            job.parsing();
+            List<ReaderFactory> sources = new ArrayList<>();
+            for (SpooledFile file : files) {
+                Compression compression = file.getCompression();
+                if (compression == Compression.ZIP) {
+                    ZipFile archive = new ZipFile(file.getPath().toFile());
+                    archives.add(archive);
+                    archive.stream()
+                            .filter(entry -> !entry.isDirectory())
+                            .forEach(entry -> sources.add(new InputStreamSourceReaderFactory(
+                                    () -> archive.getInputStream(entry), entry.getName(), StandardCharsets.UTF_8)));
+                }
+                else if (compression == Compression.NONE) {
+                    sources.add(new SpooledReaderFactory(file.getPath(), file.getFileName(), StandardCharsets.UTF_8));
+                }
+                else {
+                    sources.add(new InputStreamSourceReaderFactory(new FileSystemResource(file.getPath()),
+                            file.getFileName(), StandardCharsets.UTF_8));
+                }
+            }
+            Report report = parse(job, sources);
+            job.parsed(report.size());
+
+            ReportDelta delta = issuesService.save(report, job::persisted);
+            job.finish(delta.getNewIssues(), delta.getFixedIssues());
+        }
+        catch (IOException | RuntimeException exception) {
+            job.fail(StringUtils.defaultIfBlank(exception.getMessage(), exception.getClass().getName()));
+        }
+        finally {
+            archives.forEach(this::close);
+            files.forEach(file -> delete(file.getPath()));
+        }
+    }
+
+    private Report parse(final IngestionJob job, final List<ReaderFactory> sources) {
+        if (sources.isEmpty()) {
+            throw new IllegalArgumentException("The upload contains no report files");
+        }
+
+        // parallel streams use the fork-join pool of the task that starts the stream
+        List<Report> reports = parsers.submit(() -> sources.parallelStream()
+                .map(source -> {
+                    Report report = issuesService.parse(job.getTool(), job.getReference(), source);
+                    job.parsedFile(report.size());
+                    return report;
+                })
+                .collect(Collectors.toList())).join();
+        if (reports.size() == 1) {
+            return reports.get(0);
+        }
+
+        Report first = reports.get(0);
+        Report merged = new Report(first.getId(), first.getName(), first.getOriginReportFile());
+        for (Report report : reports) {
+            report.forEach(merged::add);
+        }
+        return merged;
+    }
+
+    private void close(final ZipFile archive) {
+        try {
+            archive.close();
+        }
+        catch (IOException ignored) {
+            // the archive has been read completely, the file will be deleted anyway
+        }
+    }
+
+    private void delete(final Path spool) {
+        try {
+            Files.deleteIfExists(spool);
+        }
+        catch (IOException ignored) {
+            // the file is in the temporary folder and will be removed by the operating system
+        }
+    }
+
+    /**
+     * Stops accepting new uploads and waits until the running uploads are finished.
+     *
+     * @throws InterruptedException
+     *         if the current thread has been interrupted while waiting
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        parsers.shutdown();
+    }
+}
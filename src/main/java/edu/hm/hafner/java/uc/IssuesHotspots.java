@@ -0,0 +1,54 @@
+package edu.hm.hafner.java.uc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.hm.hafner.java.db.Hotspot;
+
+/**
+ * Model that provides the files, packages, or modules with the most issues in all reports. The hotspots are ranked
+ * by their score, the hotspot with the highest score first.
+ */
+@SuppressWarnings({"FieldCanBeLocal", "MismatchedQueryAndUpdateOfCollection"}) // Will be converted to Json
+public class IssuesHotspots {
+    private final String property;
+    private final String tool;
+    private final boolean weighted;
+    private final List<Hotspot> hotspots;
+
+    /**
+     * Creates a new instance of {@link IssuesHotspots}.
+     *
+     * @param property
+     *         the name of the ranked property
+     * @param tool
+     *         the ID of the static analysis tool, or an empty string if the reports of all tools are ranked
+     * @param weighted
+     *         determines whether the issues are weighted by severity
+     * @param hotspots
+     *         the hotspots, the hotspot with the highest score first
+     */
+    public IssuesHotspots(final String property, final String tool, final boolean weighted,
+            final List<Hotspot> hotspots) {
+        this.property = property;
+        this.tool = tool;
+        this.weighted = weighted;
+        this.hotspots = new ArrayList<>(hotspots);
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public String getTool() {
+        return tool;
+    }
+
+    public boolean isWeighted() {
+        return weighted;
+    }
+
+    public List<Hotspot> getHotspots() {
+        return hotspots;
+    }
+}
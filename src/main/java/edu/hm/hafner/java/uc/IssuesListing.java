@@ -0,0 +1,45 @@
+package edu.hm.hafner.java.uc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.hm.hafner.java.db.IssueSummary;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+/**
+ * Model that provides one page of the issues of a report. The next page is selected using the cursor {@code next},
+ * which is missing on the last page.
+ */
+@SuppressWarnings({"FieldCanBeLocal", "MismatchedQueryAndUpdateOfCollection"}) // Will be converted to Json
+public class IssuesListing {
+    private final List<IssueSummary> issues;
+    @CheckForNull
+    private final Integer next;
+
+    /**
+     * Creates a new instance of {@link IssuesListing}.
+     *
+     * @param issues
+     *         the issues of the page
+     * @param hasNext
+     *         determines whether there are more issues after this page
+     */
+    public IssuesListing(final List<IssueSummary> issues, final boolean hasNext) {
+        this.issues = new ArrayList<>(issues);
+        next = hasNext && !issues.isEmpty() ? issues.get(issues.size() - 1).getId() : null;
+    }
+
+    public List<IssueSummary> getIssues() {
+        return issues;
+    }
+
+    /**
+     * Returns the cursor of the next page, i.e. the ID of the last issue of this page.
+     *
+     * @return the cursor of the next page, or {@code null} if this is the last page
+     */
+    @CheckForNull
+    public Integer getNext() {
+        return next;
+    }
+}
@@ -0,0 +1,54 @@
+package edu.hm.hafner.java.uc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.hm.hafner.java.db.IssueSearchHit;
+
+/**
+ * Model that provides one page of the hits of a full text search over the issues of all reports. The hits are ordered
+ * by relevance.
+ */
+@SuppressWarnings({"FieldCanBeLocal", "MismatchedQueryAndUpdateOfCollection"}) // Will be converted to Json
+public class IssuesSearchResult {
+    private final String query;
+    private final int page;
+    private final boolean hasNext;
+    private final List<IssueSearchHit> hits;
+
+    /**
+     * Creates a new instance of {@link IssuesSearchResult}.
+     *
+     * @param query
+     *         the text that has been searched for
+     * @param page
+     *         the index of the page
+     * @param hasNext
+     *         determines whether there are more hits after this page
+     * @param hits
+     *         the hits of the page
+     */
+    public IssuesSearchResult(final String query, final int page, final boolean hasNext,
+            final List<IssueSearchHit> hits) {
+        this.query = query;
+        this.page = page;
+        this.hasNext = hasNext;
+        this.hits = new ArrayList<>(hits);
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    public List<IssueSearchHit> getHits() {
+        return hits;
+    }
+}
@@ -1,32 +1,59 @@
 package edu.hm.hafner.java.uc;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.Set;
-import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
 
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
 import org.springframework.stereotype.Service;
 
-import edu.hm.hafner.analysis.Issue;
 import edu.hm.hafner.analysis.IssueParser;
+import edu.hm.hafner.analysis.ReaderFactory;
 import edu.hm.hafner.analysis.Report;
 import edu.hm.hafner.analysis.registry.ParserDescriptor;
 import edu.hm.hafner.analysis.registry.ParserRegistry;
 import edu.hm.hafner.java.db.EntityService;
-import edu.hm.hafner.java.util.InputStreamSourceReaderFactory;
+import edu.hm.hafner.java.db.Hotspot;
+import edu.hm.hafner.java.db.IssueProperty;
+import edu.hm.hafner.java.db.OffsetPageRequest;
+import edu.hm.hafner.java.db.IssueSearchHit;
+import edu.hm.hafner.java.db.IssueSummary;
+import edu.hm.hafner.java.db.ReportDelta;
+import edu.hm.hafner.java.db.ReportSnapshot;
+import edu.hm.hafner.java.db.ReportSummary;
 import edu.hm.hafner.util.NoSuchElementException;
 import edu.hm.hafner.util.VisibleForTesting;
 
 /**
- * Provides services for a {@link Report}.
+ * Provides services for a {@link Report}. The computed distributions and statistics are cached until the next upload:
+ * a stored report is updated whenever a report with the same tool ID and reference is uploaded, so {@link #save} evicts
+ * the cached entries of this report and all cached statistics.
  *
  * @author Ullrich Hafner
  */
 @Service
 public class IssuesService {
     private static final ParserRegistry PARSER_REGISTRY = new ParserRegistry();
+    private static final String[] SORTABLE_COLUMNS = {"toolId", "toolName", "originReportFile"};
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_BUILDS = 100;
+    private static final List<IssueProperty> DETAILS = Arrays.asList(IssueProperty.CATEGORY, IssueProperty.TYPE,
+            IssueProperty.SEVERITY, IssueProperty.PACKAGE_NAME, IssueProperty.MODULE_NAME);
 
     private final EntityService entityService;
 
@@ -51,8 +78,9 @@ public class IssuesService {
      *
      * @return number of issues per category
      */
+    @Cacheable(cacheNames = "distributions", key = "{#toolId, #originFileName, 'category'}")
     public IssuePropertyDistribution createDistributionByCategory(final String toolId, final String originFileName) {
-        return getPropertyDistribution(toolId, originFileName, Issue::getCategory);
+        return getPropertyDistribution(toolId, originFileName, IssueProperty.CATEGORY);
     }
 
     /**
@@ -65,20 +93,150 @@ public class IssuesService {
      *
      * @return number of issues per type
      */
+    @Cacheable(cacheNames = "distributions", key = "{#toolId, #originFileName, 'type'}")
     public IssuePropertyDistribution createDistributionByType(final String toolId, final String originFileName) {
-        return getPropertyDistribution(toolId, originFileName, Issue::getType);
+        return getPropertyDistribution(toolId, originFileName, IssueProperty.TYPE);
+    }
+
+    /**
+     * Returns the number of issues for each of the specified properties. All distributions are computed using a
+     * single database query.
+     *
+     * @param toolId
+     *         the origin of the issues instance to show the details for
+     * @param originFileName
+     *         the reference of the issues instance to show the details for
+     * @param attributes
+     *         the names of the properties to create the distributions for, see {@link IssueProperty#getAttribute()}.
+     *         If empty, then the distributions of category, type, severity, package, and module will be created.
+     *
+     * @return a mapping of the property names to the number of issues per property value
+     */
+    @Cacheable(cacheNames = "details", key = "{#toolId, #originFileName}", condition = "#attributes.isEmpty()")
+    public Map<String, IssuePropertyDistribution> createDistributions(final String toolId,
+            final String originFileName, final List<String> attributes) {
+        List<IssueProperty> properties = attributes.isEmpty() ? DETAILS
+                : attributes.stream().map(IssueProperty::fromAttribute).collect(Collectors.toList());
+
+        Map<IssueProperty, Map<String, Integer>> counts = entityService.countIssuesByProperties(toolId,
+                originFileName, properties);
+        if (counts.values().stream().allMatch(Map::isEmpty) && !entityService.containsReport(toolId, originFileName)) {
+            throw new NoSuchElementException("No report with origin %s and filename %s", originFileName, toolId);
+        }
+
+        Map<String, IssuePropertyDistribution> distributions = new LinkedHashMap<>();
+        counts.forEach((property, values) -> distributions.put(property.getAttribute(),
+                new IssuePropertyDistribution(values)));
+        return distributions;
+    }
+
+    /**
+     * Returns the totals of the latest builds of the specified report. The totals are read from the snapshots that
+     * have been recorded during the uploads of the report.
+     *
+     * @param toolId
+     *         the origin of the issues instance to show the trend for
+     * @param originFileName
+     *         the reference of the issues instance to show the trend for
+     * @param builds
+     *         the number of builds to show (at most 100)
+     *
+     * @return the totals of the latest builds
+     */
+    public IssuesTrend createTrend(final String toolId, final String originFileName, final int builds) {
+        List<ReportSnapshot> snapshots = entityService.selectSnapshots(toolId, originFileName,
+                Math.max(1, Math.min(builds, MAX_BUILDS)));
+        if (snapshots.isEmpty()) {
+            throw new NoSuchElementException("No report with origin %s and filename %s", originFileName, toolId);
+        }
+        return new IssuesTrend(snapshots);
+    }
+
+    /**
+     * Returns a page of the issues of the specified report. The issues are ordered by their ID in the database, a page
+     * starts after the last issue of the previous page. Only issues whose properties are equal to all the specified
+     * filter values are selected.
+     *
+     * @param reportId
+     *         the ID of the report
+     * @param filters
+     *         the values that the properties of the selected issues must be equal to
+     * @param after
+     *         the cursor of the page, i.e. the ID of the last issue of the previous page (0 for the first page)
+     * @param size
+     *         the number of issues per page (at most 1000)
+     *
+     * @return the page of issues
+     * @throws NoSuchElementException
+     *         if there is no report with the specified ID
+     */
+    public IssuesListing listIssues(final int reportId, final Map<IssueProperty, String> filters, final int after,
+            final int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<IssueSummary> issues = entityService.selectIssues(reportId, filters, after, limit + 1);
+        if (issues.isEmpty() && !entityService.containsReport(reportId)) {
+            throw new NoSuchElementException("No report with ID %d", reportId);
+        }
+        if (issues.size() > limit) {
+            return new IssuesListing(issues.subList(0, limit), true);
+        }
+        return new IssuesListing(issues, false);
+    }
+
+    /**
+     * Returns the files, packages, or modules with the most issues in all reports. The hotspots are read from
+     * aggregates that are updated whenever a report is uploaded.
+     *
+     * @param attribute
+     *         the property to rank: fileName, packageName, or moduleName
+     * @param toolId
+     *         the ID of the static analysis tool, or an empty string to rank the issues of all tools
+     * @param weighted
+     *         determines whether the issues are weighted by severity
+     * @param limit
+     *         the number of hotspots to return (at most 1000)
+     *
+     * @return the hotspots, the hotspot with the highest score first
+     * @throws IllegalArgumentException
+     *         if there are no hotspots for the specified property
+     */
+    public IssuesHotspots createHotspots(final String attribute, final String toolId, final boolean weighted,
+            final int limit) {
+        List<Hotspot> hotspots = entityService.selectHotspots(IssueProperty.fromAttribute(attribute), toolId,
+                weighted, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+        return new IssuesHotspots(attribute, toolId, weighted, hotspots);
+    }
+
+    /**
+     * Searches the messages and descriptions of the issues of all reports for the specified text. The hits are ranked
+     * by relevance.
+     *
+     * @param text
+     *         the text to search for, an empty text has no hits
+     * @param page
+     *         the index of the page of hits
+     * @param size
+     *         the number of hits per page (at most 1000)
+     *
+     * @return the page of hits
+     */
+    public IssuesSearchResult search(final String text, final int page, final int size) {
+        if (StringUtils.isBlank(text)) {
+            return new IssuesSearchResult(text, 0, false, Collections.emptyList());
+        }
+        Slice<IssueSearchHit> hits = entityService.searchIssues(text.trim(),
+                PageRequest.of(Math.max(0, page), Math.max(1, Math.min(size, MAX_PAGE_SIZE))));
+        return new IssuesSearchResult(text, hits.getNumber(), hits.hasNext(), hits.getContent());
     }
 
     @VisibleForTesting
     IssuePropertyDistribution getPropertyDistribution(final String toolId, final String originFileName,
-            final Function<Issue, String> propertiesMapper) {
-        Optional<Report> issues = entityService.selectReportByToolIdAndOriginReportFile(toolId, originFileName);
-        if (issues.isPresent()) {
-            Map<String, Integer> counts = issues.get().getPropertyCount(propertiesMapper);
-
-            return new IssuePropertyDistribution(counts);
+            final IssueProperty property) {
+        Map<String, Integer> counts = entityService.countIssuesByProperty(toolId, originFileName, property);
+        if (counts.isEmpty() && !entityService.containsReport(toolId, originFileName)) {
+            throw new NoSuchElementException("No report with origin %s and filename %s", originFileName, toolId);
         }
-        throw new NoSuchElementException("No report with origin %s and filename %s", originFileName, toolId);
+        return new IssuePropertyDistribution(counts);
     }
 
     /**
@@ -102,7 +260,7 @@ public class IssuesService {
      *
      * @return a report with the issues of the specified file
      */
-    public Report parse(final String tool, final String reference, final InputStreamSourceReaderFactory readerFactory) {
+    public Report parse(final String tool, final String reference, final ReaderFactory readerFactory) {
         ParserDescriptor descriptor = PARSER_REGISTRY.get(tool);
         IssueParser parser = descriptor.createParser();
 
@@ -113,26 +271,62 @@ public class IssuesService {
     }
 
     /**
-     * Creates a table with the statistics of all issues. Each row shows the statistics of one uploaded report.
+     * Creates a table with the statistics of the issues. Each row shows the statistics of one uploaded report. Only
+     * the page of reports that has been requested by the specified table request will be loaded from the database,
+     * the statistics of these reports are computed by the database. The page starts at the requested row, even if
+     * this row is not a multiple of the page length.
+     *
+     * @param request
+     *         the page, search text, and sort order of the table
      *
      * @return a statistics table
      */
-    public IssuesTable createIssuesStatistics() {
-        Set<Report> reports = entityService.selectAllReports();
-        IssuesTable statistics = new IssuesTable();
-        for (Report report : reports) {
+    public IssuesTable createIssuesStatistics(final TableRequest request) {
+        int length = request.getLength() > 0 ? Math.min(request.getLength(), MAX_PAGE_SIZE) : MAX_PAGE_SIZE;
+        Pageable pageable = new OffsetPageRequest(Math.max(0, request.getStart()), length, createSort(request));
+
+        Page<ReportSummary> reports = entityService.selectReportSummaries(request.getSearch(), pageable);
+        IssuesTable statistics = new IssuesTable(request.getDraw(), entityService.countReports(),
+                reports.getTotalElements());
+        for (ReportSummary report : reports) {
             statistics.addRow(report);
         }
         return statistics;
     }
 
+    private Sort createSort(final TableRequest request) {
+        int column = request.getColumn();
+        if (column < 0 || column >= SORTABLE_COLUMNS.length) {
+            return Sort.by("id");
+        }
+        return Sort.by(request.isAscending() ? Direction.ASC : Direction.DESC, SORTABLE_COLUMNS[column], "id");
+    }
+
     /**
-     * Saves the {@link Report} in the database.
+     * Saves the {@link Report} in the database. Evicts all cached results that depend on this report. The dictionary
+     * entries of the issues are created before the upload transaction is started. If a concurrent upload creates the
+     * same new report in the meantime, then the report is saved once more as an update of that report.
      *
      * @param report
      *         to report to save in the database
+     * @param progress
+     *         the listener that is notified about the number of issues that have been stored so far
+     *
+     * @return the numbers of new, fixed, and outstanding issues compared with the previous upload of the report
      */
-    public void save(final Report report) {
-        entityService.insert(report);
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "distributions", key = "{#report.id, #report.originReportFile, 'category'}"),
+            @CacheEvict(cacheNames = "distributions", key = "{#report.id, #report.originReportFile, 'type'}"),
+            @CacheEvict(cacheNames = "details", key = "{#report.id, #report.originReportFile}"),
+            @CacheEvict(cacheNames = "statistics", allEntries = true)})
+    public ReportDelta save(final Report report, final IntConsumer progress) {
+        entityService.resolveLabels(report);
+        try {
+            return entityService.upsert(report, progress);
+        }
+        catch (DataIntegrityViolationException exception) {
+            // the other upload has created the report, now the locked update path is taken
+            return entityService.upsert(report, progress);
+        }
     }
 }
@@ -4,29 +4,50 @@ import java.util.ArrayList;
 import java.util.List;
 
 import edu.hm.hafner.analysis.Issue;
-import edu.hm.hafner.analysis.Report;
 import edu.hm.hafner.analysis.Severity;
+import edu.hm.hafner.java.db.ReportSummary;
 
 /**
- * Model that provides the different sizes of a set of {@link Issue issues}.
+ * Model that provides the different sizes of a set of {@link Issue issues}. The model contains one page of rows in the
+ * format of a server-side processing response of a DataTable.
  *
  * @author Ullrich Hafner
  * @see <a href="http://www.chartjs.org/docs/latest/charts/bar.html#dataset-properties">Bar Chart Dataset</a>
+ * @see <a href="https://datatables.net/manual/server-side">DataTables Server-side processing</a>
  */
 @SuppressWarnings({"FieldCanBeLocal", "MismatchedQueryAndUpdateOfCollection"}) // Will be converted to Json
 public class IssuesTable {
+    private final int draw;
+    private final long recordsTotal;
+    private final long recordsFiltered;
     private final List<List<String>> data = new ArrayList<>();
 
+    /**
+     * Creates a new instance of {@link IssuesTable}.
+     *
+     * @param draw
+     *         the draw counter of the corresponding request
+     * @param recordsTotal
+     *         the total number of reports in the database
+     * @param recordsFiltered
+     *         the number of reports that match the search text
+     */
+    public IssuesTable(final int draw, final long recordsTotal, final long recordsFiltered) {
+        this.draw = draw;
+        this.recordsTotal = recordsTotal;
+        this.recordsFiltered = recordsFiltered;
+    }
+
     /**
      * Adds a new row to this table.
      *
      * @param report
-     *         the report to be added
+     *         the summary of the report to be added
      */
-    public void addRow(final Report report) {
+    public void addRow(final ReportSummary report) {
         List<String> row = new ArrayList<>();
-        row.add(report.getId());
-        row.add(report.getName());
+        row.add(report.getToolId());
+        row.add(report.getToolName());
         row.add(report.getOriginReportFile());
         row.add(String.valueOf(report.getSize()));
         row.add(String.valueOf(report.getSizeOf(Severity.ERROR)));
@@ -2,10 +2,13 @@ package edu.hm.hafner.java.uc;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Objects;
-import javax.annotation.PostConstruct;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.io.FileUrlResource;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 import edu.hm.hafner.analysis.Report;
@@ -13,11 +16,18 @@ import edu.hm.hafner.java.db.EntityService;
 import edu.hm.hafner.java.util.InputStreamSourceReaderFactory;
 
 /**
- * Populates the database with test data.
+ * Populates the database with test data. The test data is only stored if the profile {@value #PROFILE} is active
+ * (e.g., as part of the development profile). The report is stored in the background after the application has been
+ * started, so the startup is not delayed by parsing the report.
  */
 @Component
+@Profile(IssuesTestData.PROFILE)
 public class IssuesTestData {
+    /** The profile that enables the test data. */
+    public static final String PROFILE = "test-data";
+
     private static final String TEST_PMD_FILE = "/test/pmd.xml";
+    private static final String TEST_REFERENCE = "Initial-Test-Report";
 
     private final EntityService entityService;
     private final IssuesService issuesService;
@@ -37,11 +47,17 @@ public class IssuesTestData {
     }
 
     /**
-     * Populates the database with issues from a dummy PMD file.
+     * Populates the database with issues from a dummy PMD file. If the report is already stored (e.g., in a persistent
+     * database after a restart), then nothing will be changed. The report is saved like an upload, so the cached
+     * results that have been computed before the report has been stored are evicted.
      */
-    @PostConstruct
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
     public void storeTestData() {
-        entityService.insert(createTestData());
+        if (!entityService.containsReport("pmd", TEST_REFERENCE)) {
+            issuesService.save(createTestData(), count -> {
+            });
+        }
     }
 
     /**
@@ -62,8 +78,9 @@ public class IssuesTestData {
      * @return the issues
      */
     public Report createTestData(final String reportFileName) {
-        return issuesService.parse("pmd", "Initial-Test-Report",
-                new InputStreamSourceReaderFactory(getTestReport(reportFileName), "Initial-Test-Report", StandardCharsets.UTF_8));
+        return issuesService.parse("pmd", TEST_REFERENCE,
+                new InputStreamSourceReaderFactory(getTestReport(reportFileName), TEST_REFERENCE,
+                        StandardCharsets.UTF_8));
     }
 
     private FileUrlResource getTestReport(final String fileName) {
@@ -0,0 +1,51 @@
+package edu.hm.hafner.java.uc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import edu.hm.hafner.analysis.Severity;
+import edu.hm.hafner.java.db.ReportSnapshot;
+
+/**
+ * Model that provides the totals of the latest builds of a report as time series. Each series contains one value for
+ * each build.
+ *
+ * @see <a href="https://www.chartjs.org/docs/latest/charts/line.html#dataset-properties">Line Chart Dataset</a>
+ */
+@SuppressWarnings({"FieldCanBeLocal", "MismatchedQueryAndUpdateOfCollection"}) // Will be converted to Json
+public class IssuesTrend {
+    private final List<String> labels = new ArrayList<>();
+    private final List<Series> datasets = new ArrayList<>();
+
+    /**
+     * Creates a new instance of {@link IssuesTrend}.
+     *
+     * @param snapshots
+     *         the snapshots of the builds, ordered by build number
+     */
+    public IssuesTrend(final List<ReportSnapshot> snapshots) {
+        snapshots.forEach(snapshot -> labels.add(String.valueOf(snapshot.getBuild())));
+
+        datasets.add(new Series("Total", snapshots, ReportSnapshot::getSize));
+        datasets.add(new Series("Error", snapshots, snapshot -> snapshot.getSizeOf(Severity.ERROR)));
+        datasets.add(new Series("High", snapshots, snapshot -> snapshot.getSizeOf(Severity.WARNING_HIGH)));
+        datasets.add(new Series("Normal", snapshots, snapshot -> snapshot.getSizeOf(Severity.WARNING_NORMAL)));
+        datasets.add(new Series("Low", snapshots, snapshot -> snapshot.getSizeOf(Severity.WARNING_LOW)));
+        datasets.add(new Series("New", snapshots, ReportSnapshot::getNewIssues));
+        datasets.add(new Series("Fixed", snapshots, ReportSnapshot::getFixedIssues));
+    }
+
+    /**
+     * A named series of totals, one value for each build.
+     */
+    private static class Series {
+        private final String label;
+        private final List<Integer> data = new ArrayList<>();
+
+        Series(final String label, final List<ReportSnapshot> snapshots, final ToIntFunction<ReportSnapshot> total) {
+            this.label = label;
+            snapshots.forEach(snapshot -> data.add(total.applyAsInt(snapshot)));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package edu.hm.hafner.java.uc;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limits the heap memory that is used by the reports that are parsed and stored concurrently. The memory required by
+ * an upload is estimated from the size of the uploaded files. Uploads that do not fit into the remaining budget wait
+ * until the running uploads release their memory, the waiting uploads are processed in order. An upload that is
+ * larger than the whole budget is processed alone.
+ */
+class MemoryBudget {
+    private static final long UNIT = 1024;
+
+    private final int capacity;
+    private final int expansionFactor;
+    private final Semaphore permits;
+
+    /**
+     * Creates a new instance of {@link MemoryBudget}.
+     *
+     * @param bytes
+     *         the total number of bytes that may be used by the uploads that are processed concurrently
+     * @param expansionFactor
+     *         the estimated number of heap bytes that are required for each byte of an uploaded report file
+     */
+    MemoryBudget(final long bytes, final int expansionFactor) {
+        capacity = (int) Math.max(1, Math.min(Integer.MAX_VALUE, bytes / UNIT));
+        this.expansionFactor = expansionFactor;
+        permits = new Semaphore(capacity, true);
+    }
+
+    /**
+     * Reserves the memory that is required to process report files of the specified size. Blocks until enough memory
+     * is available.
+     *
+     * @param fileSize
+     *         the size of the uploaded report files in bytes
+     *
+     * @return the reserved amount of memory, must be released afterwards using {@link #release(int)}
+     * @throws InterruptedException
+     *         if the current thread has been interrupted while waiting
+     */
+    int reserve(final long fileSize) throws InterruptedException {
+        int units = (int) Math.max(1, Math.min(capacity, fileSize / UNIT * expansionFactor));
+        permits.acquire(units);
+        return units;
+    }
+
+    /**
+     * Releases the memory of a previous reservation.
+     *
+     * @param reservation
+     *         the reservation that has been returned by {@link #reserve(long)}
+     */
+    void release(final int reservation) {
+        permits.release(reservation);
+    }
+
+    /**
+     * Returns the number of bytes that are currently reserved.
+     *
+     * @return the reserved bytes
+     */
+    long getReserved() {
+        return (capacity - permits.availablePermits()) * UNIT;
+    }
+}
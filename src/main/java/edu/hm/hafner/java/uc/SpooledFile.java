@@ -0,0 +1,47 @@
+package edu.hm.hafner.java.uc;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import edu.hm.hafner.java.util.Compression;
+
+/**
+ * An uploaded file that has been copied to a temporary file. The file is either a report file, a compressed report
+ * file, or a zip archive of report files.
+ */
+public class SpooledFile {
+    private final String fileName;
+    private final Path path;
+
+    /**
+     * Creates a new instance of {@link SpooledFile}.
+     *
+     * @param fileName
+     *         the original name of the uploaded file
+     * @param path
+     *         the temporary file that contains the uploaded content
+     */
+    public SpooledFile(final String fileName, final Path path) {
+        this.fileName = fileName;
+        this.path = path;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Detects the compression of the uploaded file.
+     *
+     * @return the compression format, {@link Compression#ZIP} if the file is a zip archive of report files
+     * @throws IOException
+     *         if the file could not be read
+     */
+    public Compression getCompression() throws IOException {
+        return Compression.detect(path);
+    }
+}
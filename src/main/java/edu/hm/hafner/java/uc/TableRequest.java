@@ -0,0 +1,88 @@
+package edu.hm.hafner.java.uc;
+
+import java.util.Objects;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+/**
+ * Parameters of a server-side processing request of a DataTable: the requested page, the search text and the sort
+ * order.
+ *
+ * @see <a href="https://datatables.net/manual/server-side">DataTables Server-side processing</a>
+ */
+public class TableRequest {
+    private final int draw;
+    private final int start;
+    private final int length;
+    private final String search;
+    private final int column;
+    private final boolean ascending;
+
+    /**
+     * Creates a new instance of {@link TableRequest}.
+     *
+     * @param draw
+     *         the draw counter of the request, will be returned unchanged in the response
+     * @param start
+     *         the index of the first row to show
+     * @param length
+     *         the number of rows to show
+     * @param search
+     *         the global search text
+     * @param column
+     *         the index of the column to sort by
+     * @param ascending
+     *         determines whether to sort ascending or descending
+     */
+    public TableRequest(final int draw, final int start, final int length, final String search, final int column,
+            final boolean ascending) {
+        this.draw = draw;
+        this.start = start;
+        this.length = length;
+        this.search = search;
+        this.column = column;
+        this.ascending = ascending;
+    }
+
+    public int getDraw() {
+        return draw;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public String getSearch() {
+        return search;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    @Override
+    public boolean equals(@CheckForNull final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        TableRequest that = (TableRequest) o;
+        return draw == that.draw && start == that.start && length == that.length && column == that.column
+                && ascending == that.ascending && search.equals(that.search);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(draw, start, length, search, column, ascending);
+    }
+}
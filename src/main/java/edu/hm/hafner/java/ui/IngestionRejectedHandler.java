@@ -0,0 +1,59 @@
+package edu.hm.hafner.java.ui;
+
+import java.util.Collections;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import edu.hm.hafner.java.uc.IngestionRejectedException;
+
+/**
+ * Responds to rejected uploads with status 429 (too many requests). The {@code Retry-After} header tells build servers
+ * and browsers when the upload should be retried.
+ */
+@ControllerAdvice
+public class IngestionRejectedHandler {
+    @SuppressWarnings("InstanceVariableMayNotBeInitialized")
+    private final JsonResponses jsonResponses;
+
+    /**
+     * Creates a new instance of {@link IngestionRejectedHandler}.
+     *
+     * @param jsonResponses
+     *         creates the JSON responses
+     */
+    @Autowired
+    public IngestionRejectedHandler(final JsonResponses jsonResponses) {
+        this.jsonResponses = jsonResponses;
+    }
+
+    /**
+     * Creates the response for a rejected upload. The body is a JSON object with the error message.
+     *
+     * <p>
+     * Example:
+     * </p>
+     * <pre>
+     *     { "error" : "Too many uploads are waiting to be processed, retry after 30 seconds" }
+     * </pre>
+     *
+     * @param exception
+     *         the rejection
+     *
+     * @return status 429 with the suggested delay in the {@code Retry-After} header
+     */
+    @ExceptionHandler(IngestionRejectedException.class)
+    ResponseEntity<StreamingResponseBody> handleRejection(final IngestionRejectedException exception) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfter().getSeconds()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(output -> jsonResponses.write(
+                        Collections.singletonMap("error", exception.getMessage()), output));
+    }
+}
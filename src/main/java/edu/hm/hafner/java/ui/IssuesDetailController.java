@@ -1,18 +1,27 @@
 package edu.hm.hafner.java.ui;
 
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
-
-import com.google.gson.Gson;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.java.db.IssueProperty;
 import edu.hm.hafner.java.uc.IssuePropertyDistribution;
+import edu.hm.hafner.java.uc.IssuesHotspots;
+import edu.hm.hafner.java.uc.IssuesListing;
 import edu.hm.hafner.java.uc.IssuesService;
 import edu.hm.hafner.java.uc.IssuesTable;
+import edu.hm.hafner.java.uc.IssuesTrend;
+import edu.hm.hafner.java.uc.TableRequest;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 /**
@@ -25,33 +34,57 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 public class IssuesDetailController {
     @SuppressWarnings("InstanceVariableMayNotBeInitialized")
     private final IssuesService issuesService;
+    @SuppressWarnings("InstanceVariableMayNotBeInitialized")
+    private final JsonResponses jsonResponses;
 
     /**
      * Creates a new instance of {@link IssuesDetailController}.
      *
      * @param issuesService
      *         service to access the service layer
+     * @param jsonResponses
+     *         creates the JSON responses
      */
     @Autowired
-    public IssuesDetailController(final IssuesService issuesService) {
+    public IssuesDetailController(final IssuesService issuesService, final JsonResponses jsonResponses) {
         this.issuesService = issuesService;
+        this.jsonResponses = jsonResponses;
     }
 
     /**
      * AJAX entry point: returns a table with statistics of the uploaded reports (as JSON object). The returned JSON
-     * object is in the expected format for the {@code data} property of a DataTable.
+     * object is in the expected format of a DataTable that uses server-side processing: only the requested page of
+     * rows is returned.
      *
-     * @return issues statistics of all uploaded reports
+     * @param draw
+     *         the draw counter of the DataTable
+     * @param start
+     *         the index of the first row to show
+     * @param length
+     *         the number of rows to show
+     * @param search
+     *         the global search text
+     * @param column
+     *         the index of the column to sort by
+     * @param direction
+     *         the sort direction, either {@code asc} or {@code desc}
+     *
+     * @return issues statistics of the requested page of uploaded reports
      */
     @GetMapping(path = "/ajax/issues", produces = "application/json")
     @ResponseBody
     @SuppressWarnings("unused")
     // called by issues.js
-    ResponseEntity<?> getIssues() {
-        IssuesTable model = issuesService.createIssuesStatistics();
+    ResponseEntity<StreamingResponseBody> getIssues(@RequestParam(value = "draw", defaultValue = "0") final int draw,
+            @RequestParam(value = "start", defaultValue = "0") final int start,
+            @RequestParam(value = "length", defaultValue = "10") final int length,
+            @RequestParam(value = "search[value]", defaultValue = "") final String search,
+            @RequestParam(value = "order[0][column]", defaultValue = "0") final int column,
+            @RequestParam(value = "order[0][dir]", defaultValue = "asc") final String direction) {
+        IssuesTable model = issuesService.createIssuesStatistics(
+                new TableRequest(draw, start, length, search, column, !"desc".equals(direction)));
 
-        Gson gson = new Gson();
-        return ResponseEntity.ok(gson.toJson(model));
+        return jsonResponses.ok(model);
     }
 
     /**
@@ -79,12 +112,47 @@ public class IssuesDetailController {
     @ResponseBody
     @SuppressWarnings("unused")
     // called by details.js
-    ResponseEntity<?> getCategories(@RequestParam("tool") final String tool,
+    ResponseEntity<StreamingResponseBody> getCategories(@RequestParam("tool") final String tool,
             @RequestParam("reference") final String reference) {
         IssuePropertyDistribution model = issuesService.createDistributionByCategory(tool, reference);
 
-        Gson gson = new Gson();
-        return ResponseEntity.ok(gson.toJson(model));
+        return jsonResponses.ok(model);
+    }
+
+    /**
+     * AJAX entry point: returns the number of issues for several properties at once (as JSON object). For each
+     * property the returned JSON object contains an object in the expected format for the {@code data} property of a
+     * bar chart. All distributions are computed with a single database query.
+     *
+     * <p>
+     * Example:
+     * </p>
+     * <pre>
+     *     { "category" : { "labels" : ["Design","Documentation"], "datasets" : [{"data" : [15,3]}] },
+     *       "type" : { "labels" : ["LooseCoupling"], "datasets" : [{"data" : [1]}] }
+     *     }
+     * </pre>
+     *
+     * @param tool
+     *         the origin of the issues instance to show the details for
+     * @param reference
+     *         the reference of the issues instance to show the details for
+     * @param properties
+     *         the properties to show the distributions for (category, type, severity, packageName, moduleName, or
+     *         fileName). If empty, then category, type, severity, packageName, and moduleName will be used.
+     *
+     * @return the number of issues for each of the properties
+     */
+    @GetMapping(path = "/ajax/details", produces = "application/json")
+    @ResponseBody
+    @SuppressWarnings("unused")
+    // called by details.js
+    ResponseEntity<StreamingResponseBody> getDetails(@RequestParam("tool") final String tool,
+            @RequestParam("reference") final String reference,
+            @RequestParam(value = "properties", defaultValue = "") final List<String> properties) {
+        Map<String, IssuePropertyDistribution> model = issuesService.createDistributions(tool, reference, properties);
+
+        return jsonResponses.ok(model);
     }
 
     /**
@@ -102,11 +170,133 @@ public class IssuesDetailController {
     @ResponseBody
     @SuppressWarnings("unused")
     // called by details.js
-    ResponseEntity<?> getTypes(@RequestParam("tool") final String tool,
+    ResponseEntity<StreamingResponseBody> getTypes(@RequestParam("tool") final String tool,
             @RequestParam("reference") final String reference) {
         IssuePropertyDistribution model = issuesService.createDistributionByType(tool, reference);
 
-        Gson gson = new Gson();
-        return ResponseEntity.ok(gson.toJson(model));
+        return jsonResponses.ok(model);
+    }
+
+    /**
+     * Ajax entry point: returns the totals of the latest builds of a report (as JSON object). The returned JSON object
+     * is in the expected format for the {@code data} property of a line chart. The totals are read from the snapshots
+     * of the builds, the issues of the report are not read.
+     *
+     * <p>
+     * Example:
+     * </p>
+     * <pre>
+     *     { "labels" : ["1","2"],
+     *       "datasets" : [ {"label" : "Total", "data" : [120,110]}, {"label" : "Error", "data" : [3,1]}, ... ]
+     *     }
+     * </pre>
+     *
+     * @param tool
+     *         the tool of the issues to show the trend for
+     * @param reference
+     *         the reference of the issues instance to show the trend for
+     * @param builds
+     *         the number of builds to show
+     *
+     * @return the totals of the latest builds
+     */
+    @GetMapping(path = "/ajax/trend", produces = "application/json")
+    @ResponseBody
+    @SuppressWarnings("unused")
+    // called by dashboards that show the history of a report
+    ResponseEntity<StreamingResponseBody> getTrend(@RequestParam("tool") final String tool,
+            @RequestParam("reference") final String reference,
+            @RequestParam(value = "builds", defaultValue = "20") final int builds) {
+        IssuesTrend model = issuesService.createTrend(tool, reference, builds);
+
+        return jsonResponses.ok(model);
+    }
+
+    /**
+     * AJAX entry point: returns a page of the issues of a report (as JSON object). The pages are selected with the
+     * cursor {@code next} of the previous page, so the costs of a page do not depend on its position in the report.
+     * The issues can be filtered by the parameters {@code severity}, {@code category}, {@code type},
+     * {@code packageName}, {@code moduleName}, and {@code fileName}.
+     *
+     * <p>
+     * Example:
+     * </p>
+     * <pre>
+     *     GET /ajax/report/12/issues?severity=HIGH&amp;size=2
+     *     { "issues" : [ {"id" : 4711, "severity" : "HIGH", "category" : "Design", "type" : "GodClass", ... },
+     *                    {"id" : 4730, ... } ],
+     *       "next" : 4730 }
+     *     GET /ajax/report/12/issues?severity=HIGH&amp;size=2&amp;after=4730
+     * </pre>
+     *
+     * @param id
+     *         the ID of the report
+     * @param after
+     *         the cursor of the page: the value of {@code next} of the previous page, omit for the first page
+     * @param size
+     *         the number of issues per page
+     * @param parameters
+     *         all request parameters, the parameters with the name of an issue property are used as filters
+     *
+     * @return the page of issues
+     */
+    @GetMapping(path = "/ajax/report/{id}/issues", produces = "application/json")
+    @ResponseBody
+    @SuppressWarnings("unused")
+    // called by clients that browse the issues of a report
+    ResponseEntity<StreamingResponseBody> listReportIssues(@PathVariable("id") final int id,
+            @RequestParam(value = "after", defaultValue = "0") final int after,
+            @RequestParam(value = "size", defaultValue = "100") final int size,
+            @RequestParam final Map<String, String> parameters) {
+        Map<IssueProperty, String> filters = new EnumMap<>(IssueProperty.class);
+        for (IssueProperty property : IssueProperty.values()) {
+            String value = parameters.get(property.getAttribute());
+            if (value != null) {
+                filters.put(property, value);
+            }
+        }
+        IssuesListing model = issuesService.listIssues(id, filters, after, size);
+
+        return jsonResponses.ok(model);
+    }
+
+    /**
+     * AJAX entry point: returns the files, packages, or modules with the most issues in all reports (as JSON object).
+     * The ranking is read from aggregates that are updated whenever a report is uploaded, so the issues will not be
+     * read.
+     *
+     * <p>
+     * Example:
+     * </p>
+     * <pre>
+     *     GET /ajax/hotspots?property=packageName&amp;tool=pmd&amp;weighted=true&amp;limit=1
+     *     { "property" : "packageName", "tool" : "pmd", "weighted" : true,
+     *       "hotspots" : [ {"label" : "edu.hm.hafner.analysis", "score" : 46, "total" : 12, "errors" : 2,
+     *                       "high" : 5, "normal" : 3, "low" : 2} ] }
+     * </pre>
+     *
+     * @param property
+     *         the property to rank: fileName, packageName, or moduleName
+     * @param tool
+     *         the ID of the static analysis tool, if empty the issues of all tools are ranked
+     * @param weighted
+     *         determines whether the issues are weighted by severity (error: 8, high: 4, normal: 2, low: 1)
+     * @param limit
+     *         the number of hotspots to show
+     *
+     * @return the hotspots, the hotspot with the highest score first
+     */
+    @GetMapping(path = "/ajax/hotspots", produces = "application/json")
+    @ResponseBody
+    @SuppressWarnings("unused")
+    // called by dashboards that show the hotspots of all reports
+    ResponseEntity<StreamingResponseBody> getHotspots(
+            @RequestParam(value = "property", defaultValue = "fileName") final String property,
+            @RequestParam(value = "tool", defaultValue = "") final String tool,
+            @RequestParam(value = "weighted", defaultValue = "false") final boolean weighted,
+            @RequestParam(value = "limit", defaultValue = "20") final int limit) {
+        IssuesHotspots model = issuesService.createHotspots(property, tool, weighted, limit);
+
+        return jsonResponses.ok(model);
     }
 }
@@ -0,0 +1,88 @@
+package edu.hm.hafner.java.ui;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Creates JSON responses for the AJAX entry points. The models are serialized with the shared {@link Gson} instance
+ * directly into the output stream of the response, i.e. the JSON text is never created as a {@link String}.
+ */
+@Component
+public class JsonResponses {
+    private final Gson gson;
+
+    /**
+     * Creates a new instance of {@link JsonResponses}.
+     *
+     * @param gson
+     *         the thread safe JSON serializer to use
+     */
+    @Autowired
+    public JsonResponses(final Gson gson) {
+        this.gson = gson;
+    }
+
+    /**
+     * Creates a response with status OK that writes the specified model as JSON object.
+     *
+     * @param model
+     *         the model to serialize
+     *
+     * @return the response
+     */
+    public ResponseEntity<StreamingResponseBody> ok(final Object model) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(output -> write(model, output));
+    }
+
+    /**
+     * Creates a response with status ACCEPTED that writes the specified model as JSON object. The response refers to
+     * the resource that reports the progress of the accepted request.
+     *
+     * @param location
+     *         the URI of the resource that reports the progress
+     * @param model
+     *         the model to serialize
+     *
+     * @return the response
+     */
+    public ResponseEntity<StreamingResponseBody> accepted(final URI location, final Object model) {
+        return ResponseEntity.accepted()
+                .location(location)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(output -> write(model, output));
+    }
+
+    /**
+     * Writes the specified model as JSON object to the specified output stream. The stream will be flushed but not
+     * closed.
+     *
+     * @param model
+     *         the model to serialize
+     * @param output
+     *         the stream to write to
+     *
+     * @throws IOException
+     *         if the JSON text could not be written
+     */
+    public void write(final Object model, final OutputStream output) throws IOException {
+        JsonWriter writer = gson.newJsonWriter(
+                new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8)));
+        gson.toJson(model, model.getClass(), writer);
+        writer.flush();
+    }
+}
@@ -0,0 +1,121 @@
+package edu.hm.hafner.java.ui;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import edu.hm.hafner.java.uc.IngestionJob;
+import edu.hm.hafner.java.uc.IngestionService;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * Headless JSON API to upload reports from build servers. In contrast to the {@link UploadController} the report is
+ * sent as raw request body (and not as multipart form), and the responses are compact JSON objects rather than
+ * rendered views.
+ */
+@Controller
+@SuppressFBWarnings("SPRING_ENDPOINT")
+public class ReportApiController {
+    private static final String JOBS_PATH = "/api/jobs/";
+
+    @SuppressWarnings("InstanceVariableMayNotBeInitialized")
+    private final IngestionService ingestionService;
+    @SuppressWarnings("InstanceVariableMayNotBeInitialized")
+    private final JsonResponses jsonResponses;
+
+    /**
+     * Creates a new instance of {@link ReportApiController}.
+     *
+     * @param ingestionService
+     *         service to parse and store the uploaded reports
+     * @param jsonResponses
+     *         creates the JSON responses
+     */
+    @Autowired
+    public ReportApiController(final IngestionService ingestionService, final JsonResponses jsonResponses) {
+        this.ingestionService = ingestionService;
+        this.jsonResponses = jsonResponses;
+    }
+
+    /**
+     * Uploads a static analysis report that is sent as request body. The body is streamed to a temporary file (so
+     * chunked transfer encoding is supported), the report is parsed and stored in the background. The body may be
+     * compressed with gzip or Zstandard, e.g. using {@code Content-Encoding: gzip}. Form encoded bodies are rejected
+     * since the servlet container would consume them as request parameters.
+     *
+     * <p>
+     * Example:
+     * </p>
+     * <pre>
+     *     curl -H "Content-Type: application/xml" -H "Content-Encoding: gzip" \
+     *         --data-binary @checkstyle-result.xml.gz \
+     *         "https://[id].herokuapp.com/api/reports?tool=checkstyle&amp;reference=build-42"
+     * </pre>
+     *
+     * @param tool
+     *         the ID of the static analysis tool
+     * @param reference
+     *         the reference to the report, e.g. a URL of the build, etc.
+     * @param body
+     *         the content of the report
+     *
+     * @return status 202 with the state of the upload, the location header refers to the progress of the upload
+     * @throws IOException
+     *         if the request body could not be copied to a temporary file
+     */
+    @PostMapping(path = "/api/reports", consumes = "!application/x-www-form-urlencoded",
+            produces = "application/json")
+    @ResponseBody
+    ResponseEntity<StreamingResponseBody> upload(@RequestParam("tool") final String tool,
+            @RequestParam("reference") final String reference, final InputStream body) throws IOException {
+        Path spool = Files.createTempFile("upload-", ".report");
+        try {
+            Files.copy(body, spool, StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (IOException exception) {
+            Files.deleteIfExists(spool);
+
+            throw exception;
+        }
+        IngestionJob job = ingestionService.submit(tool, reference, reference, spool);
+
+        return jsonResponses.accepted(URI.create(JOBS_PATH + job.getId()), job);
+    }
+
+    /**
+     * Returns the progress of an upload. The upload is complete if the state is {@code FINISHED} or {@code FAILED}.
+     *
+     * <p>
+     * Example:
+     * </p>
+     * <pre>
+     *     { "id" : "0b9e...", "tool" : "pmd", "reference" : "build-42", "parsedIssues" : 1200,
+     *       "persistedIssues" : 1200, "newIssues" : 12, "fixedIssues" : 3, "state" : "FINISHED" }
+     * </pre>
+     *
+     * @param id
+     *         the ID of the job that has been returned by the upload
+     *
+     * @return the state of the upload, or status 404 if there is no such job
+     */
+    @GetMapping(path = JOBS_PATH + "{id}", produces = "application/json")
+    @ResponseBody
+    ResponseEntity<StreamingResponseBody> getJob(@PathVariable("id") final String id) {
+        return ingestionService.getJob(id)
+                .map(jsonResponses::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
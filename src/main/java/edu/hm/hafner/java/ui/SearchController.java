@@ -0,0 +1,73 @@
+package edu.hm.hafner.java.ui;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import edu.hm.hafner.java.uc.IssuesSearchResult;
+import edu.hm.hafner.java.uc.IssuesService;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * Searches the messages and descriptions of the issues of all reports.
+ */
+@Controller
+@SuppressFBWarnings("SPRING_ENDPOINT")
+public class SearchController {
+    @SuppressWarnings("InstanceVariableMayNotBeInitialized")
+    private final IssuesService issuesService;
+    @SuppressWarnings("InstanceVariableMayNotBeInitialized")
+    private final JsonResponses jsonResponses;
+
+    /**
+     * Creates a new instance of {@link SearchController}.
+     *
+     * @param issuesService
+     *         service to access the service layer
+     * @param jsonResponses
+     *         creates the JSON responses
+     */
+    @Autowired
+    public SearchController(final IssuesService issuesService, final JsonResponses jsonResponses) {
+        this.issuesService = issuesService;
+        this.jsonResponses = jsonResponses;
+    }
+
+    /**
+     * AJAX entry point: returns a page of the issues whose message or description contains the specified text (as
+     * JSON object). The hits are ranked by relevance. The text may use the syntax of web search engines, e.g.
+     * {@code "null pointer" or NullPointerException -test}.
+     *
+     * <p>
+     * Example:
+     * </p>
+     * <pre>
+     *     GET /ajax/search?q=NullPointerException&amp;size=1
+     *     { "query" : "NullPointerException", "page" : 0, "hasNext" : true,
+     *       "hits" : [ {"reportId" : 12, "toolId" : "spotbugs", "originReportFile" : "build-42", "id" : 4711,
+     *                   "severity" : "HIGH", "message" : "Possible NullPointerException ...", ... } ] }
+     * </pre>
+     *
+     * @param query
+     *         the text to search for
+     * @param page
+     *         the index of the page of hits
+     * @param size
+     *         the number of hits per page
+     *
+     * @return the page of hits
+     */
+    @GetMapping(path = "/ajax/search", produces = "application/json")
+    @ResponseBody
+    ResponseEntity<StreamingResponseBody> search(@RequestParam("q") final String query,
+            @RequestParam(value = "page", defaultValue = "0") final int page,
+            @RequestParam(value = "size", defaultValue = "20") final int size) {
+        IssuesSearchResult model = issuesService.search(query, page, size);
+
+        return jsonResponses.ok(model);
+    }
+}
@@ -1,22 +1,32 @@
 package edu.hm.hafner.java.ui;
 
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import edu.hm.hafner.analysis.Report;
-import edu.hm.hafner.java.uc.IssuesService;
-import edu.hm.hafner.java.util.InputStreamSourceReaderFactory;
+import edu.hm.hafner.java.uc.IngestionJob;
+import edu.hm.hafner.java.uc.IngestionService;
+import edu.hm.hafner.java.uc.SpooledFile;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 /**
- * Uploads new issues reports.
+ * Uploads new issues reports. The uploaded reports are parsed and stored in the background, the progress is
+ * available using the job ID that is returned by the upload.
  *
  * @author Ullrich Hafner
  */
@@ -26,58 +36,105 @@ public class UploadController {
     private static final String FILENAME_DUMMY = "<<uploaded file>>";
 
     @SuppressWarnings("InstanceVariableMayNotBeInitialized")
-    private final IssuesService issuesService;
+    private final IngestionService ingestionService;
+    @SuppressWarnings("InstanceVariableMayNotBeInitialized")
+    private final JsonResponses jsonResponses;
 
     /**
      * Creates a new instance of {@link UploadController}.
      *
-     * @param issuesService
-     *         service to access the service layer
+     * @param ingestionService
+     *         service to parse and store the uploaded reports
+     * @param jsonResponses
+     *         creates the JSON responses
      */
     @Autowired
-    public UploadController(final IssuesService issuesService) {
-        this.issuesService = issuesService;
+    public UploadController(final IngestionService ingestionService, final JsonResponses jsonResponses) {
+        this.ingestionService = ingestionService;
+        this.jsonResponses = jsonResponses;
     }
 
     /**
-     * Uploads a static analysis report via curl or a web form.
+     * Uploads static analysis reports via curl or a web form. Several report files of the same tool (e.g., one report
+     * per module) or zip archives of such report files can be uploaded at once: the files are parsed in parallel and
+     * stored as a single report.
      *
      * <p>
      * Example:
      * </p>
      * <pre>
      *     curl -F "file=@checkstyle-result.xml" -F"tool=checkstyle" https://[id].herokuapp.com/issues
+     *     curl -F "file=@core/checkstyle-result.xml" -F "file=@ui/checkstyle-result.xml" -F"tool=checkstyle" ...
+     *     curl -F "file=@checkstyle-reports.zip" -F"tool=checkstyle" https://[id].herokuapp.com/issues
      * </pre>
      *
-     * @param file
-     *         the analysis report
+     * @param files
+     *         the analysis reports or zip archives of analysis reports
      * @param tool
      *         the ID of the static analysis tool
      * @param reference
-     *         an optional reference to the report, e.g. a URL of the build, etc. If left empty, then the filename will
-     *         be used as reference
+     *         an optional reference to the report, e.g. a URL of the build, etc. If left empty, then the name of the
+     *         first file will be used as reference
      * @param model
-     *         UI model, will be filled with {@code tool} and {@code  reference}
+     *         UI model, will be filled with {@code tool}, {@code reference}, and {@code job}
      *
      * @return name of the details view
+     * @throws IOException
+     *         if the uploaded files could not be copied to temporary files
      */
     @PostMapping(path = "/issues")
-    String upload(@RequestParam("file") final MultipartFile file,
+    String upload(@RequestParam("file") final List<MultipartFile> files,
             @RequestParam("tool") final String tool,
             @RequestParam(value = "reference", required = false) final String reference,
-            final Model model) {
-        Report report = issuesService.parse(tool, StringUtils.defaultIfBlank(reference, file.getOriginalFilename()),
-                getReaderFactory(file));
-        issuesService.save(report);
+            final Model model) throws IOException {
+        List<SpooledFile> spooledFiles = new ArrayList<>();
+        try {
+            for (MultipartFile file : files) {
+                Path spool = Files.createTempFile("upload-", ".report");
+                spooledFiles.add(new SpooledFile(
+                        StringUtils.defaultIfBlank(file.getOriginalFilename(), FILENAME_DUMMY), spool));
+                file.transferTo(spool.toFile()); // moves the multipart file if it has been stored on disk
+            }
+        }
+        catch (IOException exception) {
+            for (SpooledFile spooled : spooledFiles) {
+                Files.deleteIfExists(spooled.getPath());
+            }
+            throw exception;
+        }
+        String origin = StringUtils.defaultIfBlank(reference, spooledFiles.get(0).getFileName());
+        IngestionJob job = ingestionService.submit(tool, origin, spooledFiles);
 
-        model.addAttribute("tool", report.getId());
-        model.addAttribute("reference", report.getOriginReportFile());
+        model.addAttribute("tool", tool);
+        model.addAttribute("reference", origin);
+        model.addAttribute("job", job.getId());
 
         return "details";
     }
 
-    private InputStreamSourceReaderFactory getReaderFactory(final MultipartFile file) {
-        return new InputStreamSourceReaderFactory(file,
-                StringUtils.defaultIfBlank(file.getOriginalFilename(), FILENAME_DUMMY), StandardCharsets.UTF_8);
+    /**
+     * AJAX entry point: returns the progress of an upload (as JSON object).
+     *
+     * <p>
+     * Example:
+     * </p>
+     * <pre>
+     *     { "id" : "0b9e...", "tool" : "pmd", "reference" : "pmd.xml", "parsedIssues" : 1200,
+     *       "persistedIssues" : 500, "state" : "PERSISTING" }
+     * </pre>
+     *
+     * @param id
+     *         the ID of the job that has been returned by the upload
+     *
+     * @return the state of the upload, or status 404 if there is no such job
+     */
+    @GetMapping(path = "/ajax/jobs/{id}", produces = "application/json")
+    @ResponseBody
+    @SuppressWarnings("unused")
+    // called by details.js
+    ResponseEntity<StreamingResponseBody> getJob(@PathVariable("id") final String id) {
+        return ingestionService.getJob(id)
+                .map(jsonResponses::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 }
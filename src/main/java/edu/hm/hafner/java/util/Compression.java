@@ -0,0 +1,128 @@
+package edu.hm.hafner.java.util;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
+
+import io.airlift.compress.zstd.ZstdInputStream;
+
+/**
+ * The compression formats of uploaded reports. The format is detected using the magic bytes at the start of the
+ * content, so the file names and the content types of the uploads are not relevant. Compressed content is
+ * decompressed while it is read: the inflated report is never stored in memory or on disk.
+ */
+public enum Compression {
+    /** The content is not compressed. */
+    NONE {
+        @Override
+        InputStream decompress(final InputStream input) {
+            return input;
+        }
+    },
+    /** The content is compressed with gzip. */
+    GZIP(0x1F, 0x8B) {
+        @Override
+        InputStream decompress(final InputStream input) throws IOException {
+            return new GZIPInputStream(input, BUFFER_SIZE);
+        }
+    },
+    /** The content is compressed with Zstandard. */
+    ZSTD(0x28, 0xB5, 0x2F, 0xFD) {
+        @Override
+        InputStream decompress(final InputStream input) {
+            return new ZstdInputStream(input);
+        }
+    },
+    /** The content is a zip archive, only the first file of the archive will be read. */
+    ZIP(0x50, 0x4B, 0x03, 0x04) {
+        @Override
+        InputStream decompress(final InputStream input) throws IOException {
+            ZipInputStream archive = new ZipInputStream(input);
+            ZipEntry entry = archive.getNextEntry();
+            while (entry != null && entry.isDirectory()) {
+                entry = archive.getNextEntry();
+            }
+            if (entry == null) {
+                throw new ZipException("The zip archive contains no files");
+            }
+            return archive;
+        }
+    };
+
+    private static final int HEADER_LENGTH = 4;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final int[] magic;
+
+    Compression(final int... magic) {
+        this.magic = magic;
+    }
+
+    abstract InputStream decompress(InputStream input) throws IOException;
+
+    private boolean matches(final byte[] header) {
+        if (magic.length == 0 || header.length < magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if ((header[i] & 0xFF) != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Detects the compression format of the specified content.
+     *
+     * @param header
+     *         the first bytes of the content
+     *
+     * @return the compression format
+     */
+    public static Compression detect(final byte[] header) {
+        return Arrays.stream(values()).filter(compression -> compression.matches(header)).findFirst().orElse(NONE);
+    }
+
+    /**
+     * Detects the compression format of the specified file.
+     *
+     * @param file
+     *         the file to inspect
+     *
+     * @return the compression format
+     * @throws IOException
+     *         if the file could not be read
+     */
+    public static Compression detect(final Path file) throws IOException {
+        try (InputStream input = Files.newInputStream(file)) {
+            return detect(input.readNBytes(HEADER_LENGTH));
+        }
+    }
+
+    /**
+     * Returns a stream that reads the decompressed content of the specified stream. The compression format is
+     * detected using the first bytes of the stream, uncompressed content is returned as is.
+     *
+     * @param input
+     *         the stream to read the possibly compressed content from
+     *
+     * @return a stream with the decompressed content
+     * @throws IOException
+     *         if the content could not be read or is not in the detected compression format
+     */
+    public static InputStream decompressDetected(final InputStream input) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(input, BUFFER_SIZE);
+        buffered.mark(HEADER_LENGTH);
+        byte[] header = buffered.readNBytes(HEADER_LENGTH);
+        buffered.reset();
+        return detect(header).decompress(buffered);
+    }
+}
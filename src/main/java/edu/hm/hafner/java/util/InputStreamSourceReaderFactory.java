@@ -11,7 +11,8 @@ import org.springframework.core.io.InputStreamSource;
 import edu.hm.hafner.analysis.ReaderFactory;
 
 /**
- * A {@link ReaderFactory} for {@link InputStreamSource} instances.
+ * A {@link ReaderFactory} for {@link InputStreamSource} instances. Compressed content (see {@link Compression}) is
+ * decompressed while the content is read.
  *
  * @author Ullrich Hafner
  */
@@ -44,7 +45,7 @@ public class InputStreamSourceReaderFactory extends ReaderFactory {
     @Override
     public Reader create() {
         try {
-            return new InputStreamReader(file.getInputStream(), getCharset());
+            return new InputStreamReader(Compression.decompressDetected(file.getInputStream()), getCharset());
         }
         catch (IOException exception) {
             throw new UncheckedIOException(exception);
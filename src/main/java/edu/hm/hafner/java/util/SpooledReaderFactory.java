@@ -0,0 +1,173 @@
+package edu.hm.hafner.java.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import edu.hm.hafner.analysis.ReaderFactory;
+
+/**
+ * A {@link ReaderFactory} for uploaded files that have been spooled to a temporary file. The file is mapped into
+ * memory once, each call of {@link #create()} returns a new reader of the mapped buffer: the file is neither opened
+ * nor copied again.
+ *
+ * <p>
+ * The charset of the file is detected using the byte order mark or the encoding of the XML declaration. If neither is
+ * present, then the specified default charset is used. A byte order mark is skipped by the created readers.
+ * </p>
+ */
+public class SpooledReaderFactory extends ReaderFactory {
+    private static final int PROLOG_LENGTH = 256;
+    private static final Pattern XML_ENCODING = Pattern.compile(
+            "^<\\?xml[^>]*\\sencoding\\s*=\\s*[\"']([A-Za-z][\\w.:-]*)[\"']");
+
+    private final ByteBuffer content;
+    private final String fileName;
+
+    /**
+     * Creates a new instance of {@link SpooledReaderFactory}.
+     *
+     * @param file
+     *         the spooled file to read, must not be larger than 2 GB
+     * @param fileName
+     *         the filename to use
+     * @param defaultCharset
+     *         the charset to use if the file contains no charset information
+     *
+     * @throws UncheckedIOException
+     *         if the file could not be mapped into memory
+     */
+    public SpooledReaderFactory(final Path file, final String fileName, final Charset defaultCharset) {
+        this(map(file), fileName, defaultCharset);
+    }
+
+    private SpooledReaderFactory(final ByteBuffer mapped, final String fileName, final Charset defaultCharset) {
+        super(detectCharset(mapped, defaultCharset));
+
+        this.fileName = fileName;
+        content = mapped.position(getByteOrderMarkLength(mapped)).slice().asReadOnlyBuffer();
+    }
+
+    private static ByteBuffer map(final Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // the mapping remains valid after the channel has been closed
+            return channel.map(MapMode.READ_ONLY, 0, channel.size());
+        }
+        catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static Charset detectCharset(final ByteBuffer buffer, final Charset defaultCharset) {
+        if (startsWith(buffer, 0xEF, 0xBB, 0xBF)) {
+            return StandardCharsets.UTF_8;
+        }
+        if (startsWith(buffer, 0xFE, 0xFF)) {
+            return StandardCharsets.UTF_16BE;
+        }
+        if (startsWith(buffer, 0xFF, 0xFE)) {
+            return StandardCharsets.UTF_16LE;
+        }
+
+        byte[] prolog = new byte[Math.min(PROLOG_LENGTH, buffer.limit())];
+        buffer.duplicate().get(prolog);
+        Matcher matcher = XML_ENCODING.matcher(new String(prolog, StandardCharsets.ISO_8859_1));
+        if (matcher.find()) {
+            try {
+                return Charset.forName(matcher.group(1));
+            }
+            catch (IllegalCharsetNameException | UnsupportedCharsetException ignored) {
+                // use the default charset
+            }
+        }
+        return defaultCharset;
+    }
+
+    private static int getByteOrderMarkLength(final ByteBuffer buffer) {
+        if (startsWith(buffer, 0xEF, 0xBB, 0xBF)) {
+            return 3;
+        }
+        if (startsWith(buffer, 0xFE, 0xFF) || startsWith(buffer, 0xFF, 0xFE)) {
+            return 2;
+        }
+        return 0;
+    }
+
+    private static boolean startsWith(final ByteBuffer buffer, final int... bytes) {
+        if (buffer.limit() < bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if ((buffer.get(i) & 0xFF) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String getFileName() {
+        return fileName;
+    }
+
+    @Override
+    public Reader create() {
+        return new InputStreamReader(new ByteBufferInputStream(content.duplicate()), getCharset());
+    }
+
+    /**
+     * An input stream that reads the remaining bytes of a buffer.
+     */
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(final ByteBuffer buffer) {
+            super();
+
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(final long count) {
+            int skipped = (int) Math.max(0, Math.min(count, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+-- A report is identified by tool ID and reference: only the latest upload of duplicate reports is kept. The older
+-- uploads and their issues are not deleted but moved to the tables report_archive and issues_archive.
+create table report_archive as select r.* from report r where exists (
+    select 1 from report newer where newer.tool_id = r.tool_id and newer.origin_report_file = r.origin_report_file and newer.id > r.id);
+create table issues_archive as select i.* from issues i where i.issues_id in (select a.id from report_archive a);
+
+delete from issues where issues_id in (select a.id from report_archive a);
+delete from report where id in (select a.id from report_archive a);
+
+create unique index report_tool_id_origin_report_file_idx on report (tool_id, origin_report_file);
+
+-- The aggregations of the dashboard filter by report and group by a property: these queries are answered by an
+-- index only scan. Since all indexes start with issues_id, they also serve the lookups of the issues of a report.
+create index issues_report_severity_idx on issues (issues_id, severity);
+create index issues_report_category_idx on issues (issues_id, category);
+create index issues_report_type_idx on issues (issues_id, type);
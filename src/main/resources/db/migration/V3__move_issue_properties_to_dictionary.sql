@@ -0,0 +1,63 @@
+-- The repetitive properties of the issues are stored once in a dictionary, the issues reference the entries by ID
+create table dictionary (id serial not null, label varchar(1024) not null, primary key (id));
+create unique index dictionary_label_idx on dictionary (label);
+
+insert into dictionary (label)
+    select category from issues where category is not null
+    union select type from issues where type is not null
+    union select origin from issues where origin is not null
+    union select origin_name from issues where origin_name is not null
+    union select module_name from issues where module_name is not null
+    union select package_name from issues where package_name is not null
+    union select file_name from issues where file_name is not null;
+
+alter table issues
+    add column category_id int4,
+    add column type_id int4,
+    add column origin_id int4,
+    add column origin_name_id int4,
+    add column module_name_id int4,
+    add column package_name_id int4,
+    add column file_name_id int4;
+
+update issues i set
+    category_id = (select d.id from dictionary d where d.label = i.category),
+    type_id = (select d.id from dictionary d where d.label = i.type),
+    origin_id = (select d.id from dictionary d where d.label = i.origin),
+    origin_name_id = (select d.id from dictionary d where d.label = i.origin_name),
+    module_name_id = (select d.id from dictionary d where d.label = i.module_name),
+    package_name_id = (select d.id from dictionary d where d.label = i.package_name),
+    file_name_id = (select d.id from dictionary d where d.label = i.file_name);
+
+-- drops the indexes issues_report_category_idx and issues_report_type_idx as well
+alter table issues
+    drop column category,
+    drop column type,
+    drop column origin,
+    drop column origin_name,
+    drop column module_name,
+    drop column package_name,
+    drop column file_name;
+
+alter table issues rename column category_id to category;
+alter table issues rename column type_id to type;
+alter table issues rename column origin_id to origin;
+alter table issues rename column origin_name_id to origin_name;
+alter table issues rename column module_name_id to module_name;
+alter table issues rename column package_name_id to package_name;
+alter table issues rename column file_name_id to file_name;
+
+alter table issues add constraint issues_category_fk foreign key (category) references dictionary;
+alter table issues add constraint issues_type_fk foreign key (type) references dictionary;
+alter table issues add constraint issues_origin_fk foreign key (origin) references dictionary;
+alter table issues add constraint issues_origin_name_fk foreign key (origin_name) references dictionary;
+alter table issues add constraint issues_module_name_fk foreign key (module_name) references dictionary;
+alter table issues add constraint issues_package_name_fk foreign key (package_name) references dictionary;
+alter table issues add constraint issues_file_name_fk foreign key (file_name) references dictionary;
+
+-- see SeverityConverter for the codes of the severities
+alter table issues alter column severity type int2 using
+    case severity when 'ERROR' then 1 when 'HIGH' then 2 when 'NORMAL' then 3 when 'LOW' then 4 end;
+
+create index issues_report_category_idx on issues (issues_id, category);
+create index issues_report_type_idx on issues (issues_id, type);
@@ -0,0 +1,17 @@
+-- Each upload of a report increments its build number and stores the totals of the upload in a snapshot
+alter table report add column build int4 not null default 0;
+
+create table report_snapshot (id serial not null, build int4 not null, created timestamp, errors int4 not null, fixed_issues int4 not null, high int4 not null, low int4 not null, new_issues int4 not null, normal int4 not null, total int4 not null, report_id int4 not null, primary key (id));
+alter table report_snapshot add constraint report_snapshot_report_fk foreign key (report_id) references report;
+create unique index report_snapshot_report_build_idx on report_snapshot (report_id, build);
+
+-- the existing reports get a snapshot of their current state as build 0, see SeverityConverter for the codes
+insert into report_snapshot (report_id, build, created, total, errors, high, normal, low, new_issues, fixed_issues)
+    select r.id, 0, now(), count(i.id),
+        count(i.id) filter (where i.severity = 1),
+        count(i.id) filter (where i.severity = 2),
+        count(i.id) filter (where i.severity = 3),
+        count(i.id) filter (where i.severity = 4),
+        count(i.id), 0
+    from report r left join issues i on i.issues_id = r.id
+    group by r.id;
@@ -0,0 +1,2 @@
+-- The listing of the issues of a report is paged by seeking to the ID of the last issue of the previous page
+create index issues_report_id_idx on issues (issues_id, id);
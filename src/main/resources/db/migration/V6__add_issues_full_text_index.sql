@@ -0,0 +1,7 @@
+-- The messages and descriptions of the issues are indexed for the full text search. The column is computed by the
+-- database, so it is updated whenever issues are inserted. Punctuation is replaced by blanks before the text is
+-- split into words: the parts of identifiers like java.lang.NullPointerException are indexed as separate words.
+alter table issues add column search tsvector generated always as (to_tsvector('simple',
+    regexp_replace(coalesce(message, '') || ' ' || coalesce(description, ''), '[^[:alnum:]]+', ' ', 'g'))) stored;
+
+create index issues_search_idx on issues using gin (search);
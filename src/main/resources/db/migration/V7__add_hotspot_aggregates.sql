@@ -0,0 +1,19 @@
+-- The number of issues of each file, package, and module is aggregated per tool, see HotspotAggregator
+create table hotspot (id serial not null, tool_id varchar(255) not null, property varchar(32) not null, label int4 not null, errors int4 not null, high int4 not null, normal int4 not null, low int4 not null, primary key (id));
+alter table hotspot add constraint hotspot_label_fk foreign key (label) references dictionary;
+create unique index hotspot_property_tool_label_idx on hotspot (property, tool_id, label);
+
+-- the aggregates of the existing issues, see SeverityConverter for the codes; labels that are blank or '-' are skipped
+insert into hotspot (tool_id, property, label, errors, high, normal, low)
+    select r.tool_id, a.property, a.label,
+        count(*) filter (where a.severity = 1),
+        count(*) filter (where a.severity = 2),
+        count(*) filter (where a.severity = 3),
+        count(*) filter (where a.severity = 4)
+    from (select issues_id, 'FILE_NAME' as property, file_name as label, severity from issues
+          union all select issues_id, 'PACKAGE_NAME', package_name, severity from issues
+          union all select issues_id, 'MODULE_NAME', module_name, severity from issues) a
+        join report r on r.id = a.issues_id
+        join dictionary d on d.id = a.label
+    where trim(d.label) <> '' and d.label <> '-'
+    group by r.tool_id, a.property, a.label;
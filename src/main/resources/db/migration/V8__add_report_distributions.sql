@@ -0,0 +1,28 @@
+-- The number of issues per category, type, severity, package, and module of each report, see DistributionEntity
+create table report_distribution (report_id int4 not null, category text not null, module_name text not null, package_name text not null, severity text not null, type text not null, primary key (report_id));
+alter table report_distribution add constraint report_distribution_report_fk foreign key (report_id) references report;
+
+-- the distributions of the existing reports, see SeverityConverter for the codes
+insert into report_distribution (report_id, category, type, severity, package_name, module_name)
+    select r.id,
+        coalesce((select json_object_agg(coalesce(d.label, ''), c.total order by d.label)::text
+            from (select category as label, count(*) as total from issues
+                  where issues_id = r.id group by category) c
+            left join dictionary d on d.id = c.label), '{}'),
+        coalesce((select json_object_agg(coalesce(d.label, ''), c.total order by d.label)::text
+            from (select type as label, count(*) as total from issues
+                  where issues_id = r.id group by type) c
+            left join dictionary d on d.id = c.label), '{}'),
+        coalesce((select json_object_agg(case c.severity when 1 then 'ERROR' when 2 then 'HIGH'
+                                                         when 3 then 'NORMAL' else 'LOW' end, c.total)::text
+            from (select severity, count(*) as total from issues
+                  where issues_id = r.id group by severity) c), '{}'),
+        coalesce((select json_object_agg(coalesce(d.label, ''), c.total order by d.label)::text
+            from (select package_name as label, count(*) as total from issues
+                  where issues_id = r.id group by package_name) c
+            left join dictionary d on d.id = c.label), '{}'),
+        coalesce((select json_object_agg(coalesce(d.label, ''), c.total order by d.label)::text
+            from (select module_name as label, count(*) as total from issues
+                  where issues_id = r.id group by module_name) c
+            left join dictionary d on d.id = c.label), '{}')
+    from report r;
@@ -0,0 +1,7 @@
+-- Databases that have been created with the former create.sql (baselined at V1) still use the serial column of the
+-- issues: the sequence increments by 1 and is the default of the column. Hibernate reads each value of the sequence
+-- as the upper bound of a block of 50 IDs (see IssueEntity), so the sequence must increment by 50 and must start
+-- above the block of the largest stored ID. The IDs are always provided by Hibernate, so the default is dropped.
+alter sequence issues_id_seq increment by 50;
+select setval('issues_id_seq', coalesce(max(id), 0) + 50) from issues;
+alter table issues alter column id drop default;
@@ -7,34 +7,64 @@ $(document).ready(
         const tool = $('#tool').text();
         const reference = $('#reference').text();
 
-        $.get("ajax/categories", {tool: tool, reference: reference},
-            function (categories) {
-                new Chart($("#categories-chart"), {
-                    type: 'horizontalBar',
-                    label: 'Categories',
-                    data: categories,
-                    options: {
-                        legend: {
-                            display: false
-                        }
+        function createBarChart(canvas, label, data) {
+            new Chart(canvas, {
+                type: 'horizontalBar',
+                label: label,
+                data: data,
+                options: {
+                    legend: {
+                        display: false
                     }
-                });
+                }
             });
-        $.get("ajax/types", {tool: tool, reference: reference},
-            function (types) {
-                new Chart($("#types-chart"), {
-                    type: 'horizontalBar',
-                    label: 'Types',
-                    data: types,
-                    options: {
-                        legend: {
-                            display: false
-                        }
-                    }
+        }
+
+        function showDetails() {
+            $.get("ajax/details", {tool: tool, reference: reference},
+                function (details) {
+                    createBarChart($("#priorities-chart"), 'Priorities', details.severity);
+                    createBarChart($("#categories-chart"), 'Categories', details.category);
+                    createBarChart($("#types-chart"), 'Types', details.type);
+                    createBarChart($("#packages-chart"), 'Packages', details.packageName);
                 });
+        }
+
+        function waitForJob(job) {
+            const status = $('#job-status');
+            $('#job-progress').removeAttr('hidden');
+
+            $.get("ajax/jobs/" + encodeURIComponent(job), function (state) {
+                if (state.state === 'FINISHED') {
+                    status.removeClass('alert-info').addClass('alert-success')
+                        .text('Upload finished: ' + state.newIssues + ' new issues, '
+                            + state.fixedIssues + ' fixed issues');
+                    showDetails();
+                }
+                else if (state.state === 'FAILED') {
+                    status.removeClass('alert-info').addClass('alert-danger')
+                        .text('Upload failed: ' + state.error);
+                }
+                else {
+                    status.text('Upload is processed: ' + state.parsedIssues + ' issues parsed, '
+                        + state.persistedIssues + ' issues stored');
+                    setTimeout(function () {
+                        waitForJob(job);
+                    }, 1000);
+                }
+            }).fail(function () {
+                status.removeClass('alert-info').addClass('alert-danger').text('Upload has expired');
             });
+        }
+
+        const job = $('#job').text();
+        if (job) {
+            waitForJob(job);
+        }
+        else {
+            showDetails();
+        }
 
         const detailsTabs = $('#tab-details');
         detailsTabs.find('li:first-child a').tab('show');
     });
-
@@ -1,7 +1,11 @@
 $(document).ready(
     function () {
         var table = $('#issues').DataTable({
-            "ajax": 'ajax/issues'
+            "serverSide": true,
+            "ajax": 'ajax/issues',
+            "columnDefs": [
+                {"orderable": false, "targets": [3, 4, 5, 6, 7]}
+            ]
         });
         $('#issues tbody').on('click', 'tr', function () {
             var data = table.row( this ).data();
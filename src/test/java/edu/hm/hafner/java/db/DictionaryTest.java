@@ -0,0 +1,104 @@
+package edu.hm.hafner.java.db;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import edu.hm.hafner.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the class {@link Dictionary}.
+ */
+class DictionaryTest {
+    private static final String LABEL = "Design";
+    private static final int ID = 42;
+
+    @Test
+    void shouldCreateNewEntryOnlyOnce() {
+        DictionaryRepository repository = mock(DictionaryRepository.class);
+        DictionaryEntry entry = createEntry();
+        when(repository.saveAndFlush(any())).thenReturn(entry);
+
+        Dictionary dictionary = createDictionary(repository);
+
+        assertThat(dictionary.getId(LABEL)).isEqualTo(ID);
+        assertThat(dictionary.getId(LABEL)).isEqualTo(ID);
+        assertThat(dictionary.getLabel(ID)).isEqualTo(LABEL);
+
+        verify(repository).saveAndFlush(any());
+        verify(repository, never()).findById(anyInt());
+    }
+
+    @Test
+    void shouldUseExistingEntry() {
+        DictionaryRepository repository = mock(DictionaryRepository.class);
+        DictionaryEntry entry = createEntry();
+        when(repository.findByLabel(LABEL)).thenReturn(Optional.of(entry));
+
+        Dictionary dictionary = createDictionary(repository);
+
+        assertThat(dictionary.getId(LABEL)).isEqualTo(ID);
+        verify(repository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void shouldLoadLabelOfUnknownId() {
+        DictionaryRepository repository = mock(DictionaryRepository.class);
+        DictionaryEntry entry = createEntry();
+        when(repository.findById(ID)).thenReturn(Optional.of(entry));
+
+        Dictionary dictionary = createDictionary(repository);
+
+        assertThat(dictionary.getLabel(ID)).isEqualTo(LABEL);
+        assertThat(dictionary.getId(LABEL)).isEqualTo(ID);
+        assertThatExceptionOfType(NoSuchElementException.class).isThrownBy(() -> dictionary.getLabel(ID + 1));
+    }
+
+    @Test
+    void shouldResolveMissingEntriesOfBatchInAdvance() {
+        DictionaryRepository repository = mock(DictionaryRepository.class);
+        DictionaryEntry entry = createEntry();
+        DictionaryEntry created = createEntry(ID + 1, "Documentation");
+        when(repository.findByLabelIn(anyCollection())).thenReturn(Collections.singletonList(entry));
+        when(repository.saveAllAndFlush(anyIterable())).thenAnswer(invocation -> {
+            List<DictionaryEntry> missing = invocation.getArgument(0);
+            assertThat(missing).extracting(DictionaryEntry::getLabel).containsExactly("Documentation");
+            return Collections.singletonList(created);
+        });
+
+        Dictionary dictionary = createDictionary(repository);
+        dictionary.resolve(Arrays.asList("Documentation", LABEL, "Documentation"));
+
+        assertThat(dictionary.getId(LABEL)).isEqualTo(ID);
+        assertThat(dictionary.getId("Documentation")).isEqualTo(ID + 1);
+        verify(repository).findByLabelIn(Arrays.asList(LABEL, "Documentation"));
+        verify(repository).saveAllAndFlush(anyIterable());
+        verify(repository, never()).findByLabel(anyString());
+        verify(repository, never()).saveAndFlush(any());
+
+        dictionary.resolve(Collections.singletonList(LABEL));
+        verifyNoMoreInteractions(repository);
+    }
+
+    private Dictionary createDictionary(final DictionaryRepository repository) {
+        return new Dictionary(repository, mock(PlatformTransactionManager.class), 100);
+    }
+
+    private DictionaryEntry createEntry() {
+        return createEntry(ID, LABEL);
+    }
+
+    private DictionaryEntry createEntry(final int id, final String label) {
+        DictionaryEntry entry = mock(DictionaryEntry.class);
+        when(entry.getId()).thenReturn(id);
+        when(entry.getLabel()).thenReturn(label);
+        return entry;
+    }
+}
@@ -0,0 +1,134 @@
+package edu.hm.hafner.java.db;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.analysis.Severity;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Compares the throughput of the different ways to store a {@link Report} with the {@link EntityService}. These
+ * benchmarks are skipped in a normal build, use {@code mvn test -Dbenchmark=true -Dtest=EntityServiceBenchmarkTest}
+ * to run them. The number of issues per report can be changed using the property {@code benchmark.issues}, the
+ * number of reports for the overview benchmarks using the property {@code benchmark.reports}. The lookup benchmark
+ * stores {@code benchmark.lookups} small reports and then selects each of them by tool ID and reference.
+ */
+@DataJpaTest
+@Import({EntityService.class, Mapper.class, Dictionary.class, DictionaryConverter.class, HotspotAggregator.class})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SuppressWarnings("PMD.SystemPrintln")
+class EntityServiceBenchmarkTest {
+    private static final int ISSUES_COUNT = Integer.getInteger("benchmark.issues", 200_000);
+    private static final int REPORTS_COUNT = Integer.getInteger("benchmark.reports", 10);
+    private static final int LOOKUPS_COUNT = Integer.getInteger("benchmark.lookups", 10_000);
+    private static final Severity[] SEVERITIES = {
+            Severity.ERROR, Severity.WARNING_HIGH, Severity.WARNING_NORMAL, Severity.WARNING_LOW};
+
+    @Autowired
+    private EntityService entityService;
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @Test
+    void shouldInsertReportWithCascadingSave() {
+        Report report = createReport(ISSUES_COUNT);
+
+        measure("Cascading save", ISSUES_COUNT, () -> {
+            entityService.insert(report);
+            issueRepository.flush();
+        });
+
+        assertThat(issueRepository.count()).isEqualTo(ISSUES_COUNT);
+    }
+
+    @Test
+    void shouldInsertReportInBatches() {
+        Report report = createReport(ISSUES_COUNT);
+
+        measure("Batch insert", ISSUES_COUNT, () -> entityService.insertInBatches(report));
+
+        assertThat(issueRepository.count()).isEqualTo(ISSUES_COUNT);
+    }
+
+    @Test
+    void shouldCreateOverviewByLoadingAllIssues() {
+        storeReports();
+
+        measure("Overview by loading all issues", ISSUES_COUNT * REPORTS_COUNT,
+                () -> assertThat(entityService.selectAllReports()).hasSize(REPORTS_COUNT)
+                        .allSatisfy(report -> assertThat(report.getSizeOf(Severity.ERROR)).isPositive()));
+    }
+
+    @Test
+    void shouldCreateOverviewWithAggregateQuery() {
+        storeReports();
+
+        measure("Overview by aggregate query", ISSUES_COUNT * REPORTS_COUNT, () -> {
+            Page<ReportSummary> summaries = entityService.selectReportSummaries("", PageRequest.of(0, REPORTS_COUNT));
+            assertThat(summaries).hasSize(REPORTS_COUNT)
+                    .allSatisfy(summary -> assertThat(summary.getSizeOf(Severity.ERROR)).isPositive());
+        });
+    }
+
+    @Test
+    void shouldFindReportsByToolIdAndReference() {
+        for (int i = 0; i < LOOKUPS_COUNT; i++) {
+            Report report = createReport(1);
+            report.setOriginReportFile("lookup-" + i);
+            entityService.insertInBatches(report);
+        }
+
+        measure("Lookup by tool ID and reference", LOOKUPS_COUNT, "reports", () -> {
+            for (int i = 0; i < LOOKUPS_COUNT; i++) {
+                assertThat(entityService.selectReportByToolIdAndOriginReportFile("pmd", "lookup-" + i)).isPresent();
+            }
+        });
+    }
+
+    private void storeReports() {
+        for (int i = 0; i < REPORTS_COUNT; i++) {
+            Report report = createReport(ISSUES_COUNT);
+            report.setOriginReportFile("benchmark-" + i);
+            entityService.insertInBatches(report);
+        }
+    }
+
+    static Report createReport(final int size) {
+        Report report = new Report("pmd", "PMD", "benchmark-" + size);
+        try (IssueBuilder builder = new IssueBuilder()) {
+            for (int i = 0; i < size; i++) {
+                report.add(builder.setFileName(String.format("src/main/java/edu/hm/hafner/Class%d.java", i % 1000))
+                        .setPackageName("edu.hm.hafner.package" + i % 50)
+                        .setModuleName("module-" + i % 10)
+                        .setCategory("Category " + i % 8)
+                        .setType("Type" + i % 40)
+                        .setSeverity(SEVERITIES[i % SEVERITIES.length])
+                        .setLineStart(i)
+                        .setMessage("Message " + i)
+                        .build());
+            }
+        }
+        return report;
+    }
+
+    static void measure(final String name, final int size, final Runnable action) {
+        measure(name, size, "issues", action);
+    }
+
+    static void measure(final String name, final int size, final String unit, final Runnable action) {
+        long start = System.nanoTime();
+        action.run();
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+
+        System.out.printf("%s: %d %s in %d ms (%d %s/s, %.3f ms each)%n", name, size, unit, millis,
+                size * 1000L / millis, unit, (double) millis / size);
+    }
+}
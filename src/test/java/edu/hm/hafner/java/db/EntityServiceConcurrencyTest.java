@@ -0,0 +1,75 @@
+package edu.hm.hafner.java.db;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import edu.hm.hafner.analysis.Report;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Verifies that concurrent uploads of the same report are written one after the other by the {@link EntityService}.
+ * Each upload runs in its own transaction, so the test itself must not be transactional.
+ */
+@DataJpaTest
+@Import({EntityService.class, Mapper.class, Dictionary.class, DictionaryConverter.class, HotspotAggregator.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext
+class EntityServiceConcurrencyTest {
+    private static final int UPLOADS = 4;
+    private static final int ISSUES_COUNT = 50;
+
+    @Autowired
+    private EntityService entityService;
+
+    @Test
+    void shouldSerializeConcurrentUploadsOfSameReport() throws Exception {
+        Report report = EntityServiceBenchmarkTest.createReport(ISSUES_COUNT);
+        report.setOriginReportFile("concurrent");
+        entityService.upsert(report, count -> {
+        });
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(UPLOADS);
+        try {
+            List<Future<ReportDelta>> uploads = new ArrayList<>();
+            for (int i = 0; i < UPLOADS; i++) {
+                uploads.add(executor.submit(() -> {
+                    start.await();
+                    return entityService.upsert(report, count -> {
+                    });
+                }));
+            }
+            start.countDown();
+
+            for (Future<ReportDelta> upload : uploads) {
+                ReportDelta delta = upload.get(30, TimeUnit.SECONDS);
+                assertThat(delta.getNewIssues()).isZero();
+                assertThat(delta.getFixedIssues()).isZero();
+                assertThat(delta.getOutstandingIssues()).isEqualTo(ISSUES_COUNT);
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(entityService.selectSnapshots("pmd", "concurrent", UPLOADS + 1))
+                .extracting(ReportSnapshot::getBuild)
+                .containsExactlyInAnyOrder(1, 2, 3, 4, 5);
+        assertThat(entityService.selectReportByToolIdAndOriginReportFile("pmd", "concurrent"))
+                .hasValueSatisfying(stored -> assertThat(stored.getSize()).isEqualTo(ISSUES_COUNT));
+    }
+}
@@ -0,0 +1,246 @@
+package edu.hm.hafner.java.db;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.persistence.EntityManager;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.analysis.Severity;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Verifies the number of SQL statements that are required to read and update reports in the database with the
+ * {@link EntityService}. These statements are counted using the Hibernate statistics.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({EntityService.class, Mapper.class, Dictionary.class, DictionaryConverter.class, HotspotAggregator.class})
+class EntityServiceStatementsTest {
+    private static final int REPORTS_COUNT = 5;
+    private static final int ISSUES_COUNT = 20;
+    private static final int FIXED_COUNT = 5;
+    private static final int NEW_COUNT = 3;
+
+    @Autowired
+    private EntityService entityService;
+    @Autowired
+    private EntityManager manager;
+
+    private Statistics statistics;
+    private final List<Integer> reportIds = new ArrayList<>();
+
+    @BeforeEach
+    void storeReports() {
+        for (int i = 0; i < REPORTS_COUNT; i++) {
+            Report report = EntityServiceBenchmarkTest.createReport(ISSUES_COUNT);
+            report.setOriginReportFile("report-" + i);
+            reportIds.add(entityService.insertInBatches(report));
+        }
+
+        statistics = manager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void shouldSelectSummariesWithoutLoadingIssues() {
+        Page<ReportSummary> summaries = entityService.selectReportSummaries("", PageRequest.of(0, 10));
+
+        assertThat(summaries).hasSize(REPORTS_COUNT)
+                .allSatisfy(summary -> assertThat(summary.getSize()).isEqualTo(ISSUES_COUNT));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityStatistics(IssueEntity.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    void shouldSelectSummariesStartingAtUnalignedOffset() {
+        Page<ReportSummary> summaries = entityService.selectReportSummaries("",
+                new OffsetPageRequest(3, 2, Sort.by("id")));
+
+        assertThat(summaries.getContent()).extracting(ReportSummary::getOriginReportFile)
+                .containsExactly("report-3", "report-4");
+        assertThat(summaries.getTotalElements()).isEqualTo(REPORTS_COUNT);
+    }
+
+    @Test
+    void shouldSelectAllReportsWithOneStatement() {
+        assertThat(entityService.selectAllReports()).hasSize(REPORTS_COUNT)
+                .allSatisfy(report -> assertThat(report.getSize()).isEqualTo(ISSUES_COUNT));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldSelectReportWithIssuesWithOneStatement() {
+        Optional<Report> report = entityService.selectReportByToolIdAndOriginReportFile("pmd", "report-0");
+
+        assertThat(report).hasValueSatisfying(
+                value -> assertThat(value.getSizeOf(Severity.ERROR)).isEqualTo(ISSUES_COUNT / 4));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCheckExistenceWithoutLoadingReport() {
+        assertThat(entityService.containsReport("pmd", "report-0")).isTrue();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void shouldMatchWildcardsOfSearchTextLiterally() {
+        Report report = EntityServiceBenchmarkTest.createReport(1);
+        report.setOriginReportFile("report_with_underscore");
+        entityService.insertInBatches(report);
+
+        assertThat(entityService.selectReportSummaries("_", PageRequest.of(0, 10))).singleElement()
+                .satisfies(summary -> assertThat(summary.getOriginReportFile()).isEqualTo("report_with_underscore"));
+        assertThat(entityService.selectReportSummaries("%", PageRequest.of(0, 10))).isEmpty();
+        assertThat(entityService.selectReportSummaries("t_w", PageRequest.of(0, 10)).getTotalElements()).isOne();
+        assertThat(entityService.selectReportSummaries("report", PageRequest.of(0, 10)).getTotalElements())
+                .isEqualTo(REPORTS_COUNT + 1);
+    }
+
+    @Test
+    void shouldReadDistributionsFromSingleRow() {
+        Map<IssueProperty, Map<String, Integer>> distributions = entityService.countIssuesByProperties("pmd",
+                "report-0", DistributionEntity.PROPERTIES);
+
+        assertThat(distributions).containsOnlyKeys(DistributionEntity.PROPERTIES);
+        assertThat(distributions.get(IssueProperty.SEVERITY)).containsExactly(entry("ERROR", ISSUES_COUNT / 4),
+                entry("HIGH", ISSUES_COUNT / 4), entry("LOW", ISSUES_COUNT / 4), entry("NORMAL", ISSUES_COUNT / 4));
+        assertThat(distributions.get(IssueProperty.MODULE_NAME)).hasSize(10).containsEntry("module-3", 2);
+        assertThat(entityService.countIssuesByProperty("pmd", "report-0", IssueProperty.CATEGORY))
+                .isEqualTo(distributions.get(IssueProperty.CATEGORY));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityStatistics(IssueEntity.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    void shouldSelectTrendWithoutLoadingIssues() {
+        assertThat(entityService.selectSnapshots("pmd", "report-0", 10)).singleElement().satisfies(snapshot -> {
+            assertThat(snapshot.getBuild()).isEqualTo(1);
+            assertThat(snapshot.getSize()).isEqualTo(ISSUES_COUNT);
+            assertThat(snapshot.getSizeOf(Severity.ERROR)).isEqualTo(ISSUES_COUNT / 4);
+        });
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityStatistics(IssueEntity.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    void shouldSelectPagesOfIssuesBySeekingToCursor() {
+        Map<IssueProperty, String> filters = new EnumMap<>(IssueProperty.class);
+        int reportId = reportIds.get(0);
+
+        List<IssueSummary> first = entityService.selectIssues(reportId, filters, 0, 8);
+        List<IssueSummary> second = entityService.selectIssues(reportId, filters, first.get(7).getId(), 100);
+
+        assertThat(first).hasSize(8);
+        assertThat(second).hasSize(ISSUES_COUNT - 8);
+        assertThat(second.get(0).getId()).isGreaterThan(first.get(7).getId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityStatistics(IssueEntity.class.getName()).getLoadCount()).isZero();
+
+        filters.put(IssueProperty.SEVERITY, Severity.ERROR.getName());
+        filters.put(IssueProperty.CATEGORY, "Category 0");
+        assertThat(entityService.selectIssues(reportId, filters, 0, 100)).hasSize(ISSUES_COUNT / 8)
+                .allSatisfy(issue -> {
+                    assertThat(issue.getSeverity()).isEqualTo(Severity.ERROR.getName());
+                    assertThat(issue.getCategory()).isEqualTo("Category 0");
+                });
+
+        filters.put(IssueProperty.CATEGORY, "Unknown Category");
+        assertThat(entityService.selectIssues(reportId, filters, 0, 100)).isEmpty();
+        assertThat(statistics.getEntityStatistics(DictionaryEntry.class.getName()).getInsertCount()).isZero();
+    }
+
+    @Test
+    void shouldSearchMessagesOfAllReports() {
+        Slice<IssueSearchHit> first = entityService.searchIssues("message 7", PageRequest.of(0, 4));
+
+        assertThat(first.getContent()).hasSize(4).allSatisfy(hit -> {
+            assertThat(hit.getMessage()).contains("7");
+            assertThat(hit.getToolId()).isEqualTo("pmd");
+            assertThat(hit.getOriginReportFile()).startsWith("report-");
+        });
+        assertThat(first.hasNext()).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityStatistics(IssueEntity.class.getName()).getLoadCount()).isZero();
+
+        Slice<IssueSearchHit> last = entityService.searchIssues("MESSAGE 7", PageRequest.of(2, 4));
+        assertThat(last.getContent()).hasSize(2 * REPORTS_COUNT - 8);
+        assertThat(last.hasNext()).isFalse();
+
+        assertThat(entityService.searchIssues("message 7 missing", PageRequest.of(0, 4))).isEmpty();
+    }
+
+    @Test
+    void shouldRankHotspotsWithoutReadingIssues() {
+        assertThat(entityService.selectHotspots(IssueProperty.MODULE_NAME, "pmd", true, 5)).hasSize(5)
+                .allSatisfy(hotspot -> {
+                    assertThat(hotspot.getScore()).isEqualTo(REPORTS_COUNT * (8 + 2));
+                    assertThat(hotspot.getTotal()).isEqualTo(REPORTS_COUNT * 2);
+                    assertThat(hotspot.getErrors()).isEqualTo(REPORTS_COUNT);
+                    assertThat(hotspot.getNormal()).isEqualTo(REPORTS_COUNT);
+                });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityStatistics(IssueEntity.class.getName()).getLoadCount()).isZero();
+
+        assertThat(entityService.selectHotspots(IssueProperty.FILE_NAME, "", false, 100)).hasSize(ISSUES_COUNT)
+                .allSatisfy(hotspot -> assertThat(hotspot.getScore()).isEqualTo(REPORTS_COUNT));
+        assertThat(entityService.selectHotspots(IssueProperty.FILE_NAME, "checkstyle", false, 100)).isEmpty();
+        assertThatIllegalArgumentException().isThrownBy(
+                () -> entityService.selectHotspots(IssueProperty.CATEGORY, "", false, 100));
+    }
+
+    @Test
+    void shouldUpdateReportByWritingChangedIssuesOnly() {
+        Report stored = EntityServiceBenchmarkTest.createReport(ISSUES_COUNT);
+        Report upload = new Report(stored.getId(), stored.getName(), "report-0");
+        stored.stream().skip(FIXED_COUNT).forEach(upload::add);
+        try (IssueBuilder builder = new IssueBuilder()) {
+            for (int i = 0; i < NEW_COUNT; i++) {
+                upload.add(builder.setLineStart(ISSUES_COUNT + i).setMessage("New issue").build());
+            }
+        }
+
+        ReportDelta delta = entityService.upsert(upload, count -> {
+        });
+        manager.clear();
+
+        assertThat(delta.getNewIssues()).isEqualTo(NEW_COUNT);
+        assertThat(delta.getFixedIssues()).isEqualTo(FIXED_COUNT);
+        assertThat(delta.getOutstandingIssues()).isEqualTo(ISSUES_COUNT - FIXED_COUNT);
+        assertThat(statistics.getEntityStatistics(IssueEntity.class.getName()).getInsertCount()).isEqualTo(NEW_COUNT);
+        assertThat(entityService.selectSnapshots("pmd", "report-0", 10)).hasSize(2).last().satisfies(snapshot -> {
+            assertThat(snapshot.getBuild()).isEqualTo(2);
+            assertThat(snapshot.getSize()).isEqualTo(ISSUES_COUNT - FIXED_COUNT + NEW_COUNT);
+            assertThat(snapshot.getNewIssues()).isEqualTo(NEW_COUNT);
+            assertThat(snapshot.getFixedIssues()).isEqualTo(FIXED_COUNT);
+        });
+        assertThat(entityService.selectReportByToolIdAndOriginReportFile("pmd", "report-0"))
+                .hasValueSatisfying(
+                        report -> assertThat(report.size()).isEqualTo(ISSUES_COUNT - FIXED_COUNT + NEW_COUNT));
+        assertThat(entityService.countIssuesByProperty("pmd", "report-0", IssueProperty.MODULE_NAME))
+                .containsEntry("", NEW_COUNT).containsEntry("module-0", 1).containsEntry("module-5", 2);
+        assertThat(entityService.selectHotspots(IssueProperty.MODULE_NAME, "pmd", false, 100))
+                .extracting(Hotspot::getTotal).containsOnly(REPORTS_COUNT * 2L, REPORTS_COUNT * 2L - 1)
+                .filteredOn(total -> total < REPORTS_COUNT * 2).hasSize(FIXED_COUNT);
+    }
+}
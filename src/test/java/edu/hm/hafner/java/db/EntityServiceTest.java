@@ -1,14 +1,23 @@
 package edu.hm.hafner.java.db;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 
 import edu.hm.hafner.analysis.Issue;
 import edu.hm.hafner.analysis.IssueBuilder;
 import edu.hm.hafner.analysis.Report;
 import edu.hm.hafner.analysis.Severity;
+import edu.hm.hafner.java.db.IssueRepository.PropertyCount;
+import edu.hm.hafner.java.db.IssueRepository.SeverityCount;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -23,6 +32,7 @@ class EntityServiceTest {
     private static final int EXAMPLE_UUID = 1234;
     private static final String EXAMPLE_ORIGIN = "origin";
     private static final String EXAMPLE_REFERENCE = "1";
+    private static final int BATCH_SIZE = 500;
 
     private static final Report ISSUES = new Report();
     private static final Issue FIRST_ISSUE = new IssueBuilder().setLineStart(1).build();
@@ -72,7 +82,7 @@ class EntityServiceTest {
         IssueRepository issueRepository = mock(IssueRepository.class);
         ReportRepository reportRepository = mock(ReportRepository.class);
         EntityService sut = createEntityService(issueRepository, reportRepository);
-        when(reportRepository.findById(EXAMPLE_UUID)).thenReturn(Optional.of(MAPPER.map(ISSUES)));
+        when(reportRepository.findWithIssuesById(EXAMPLE_UUID)).thenReturn(Optional.of(MAPPER.map(ISSUES)));
 
         Optional<Report> optionalResult = sut.selectReport(EXAMPLE_UUID);
 
@@ -100,12 +110,161 @@ class EntityServiceTest {
         verifyNoMoreInteractions(issueRepository);
     }
 
+    @Test
+    void selectReportSummariesWithSeverityTotals() {
+        IssueRepository issueRepository = mock(IssueRepository.class);
+        ReportRepository reportRepository = mock(ReportRepository.class);
+        EntityService sut = createEntityService(issueRepository, reportRepository);
+
+        ReportEntity entity = MAPPER.map(ISSUES);
+        entity.setId(EXAMPLE_UUID);
+        PageRequest pageable = PageRequest.of(0, 10);
+        when(reportRepository.findAllMatching("%origin%", pageable))
+                .thenReturn(new PageImpl<>(Collections.singletonList(entity), pageable, 1));
+        SeverityCount count = mock(SeverityCount.class);
+        when(count.getReportId()).thenReturn(EXAMPLE_UUID);
+        when(count.getSeverity()).thenReturn(Severity.WARNING_HIGH.getName());
+        when(count.getTotal()).thenReturn(2L);
+        when(issueRepository.countByReportAndSeverity(Collections.singletonList(EXAMPLE_UUID)))
+                .thenReturn(Collections.singletonList(count));
+
+        Page<ReportSummary> summaries = sut.selectReportSummaries("Origin", pageable);
+
+        assertThat(summaries).hasSize(1);
+        ReportSummary summary = summaries.getContent().get(0);
+        assertThat(summary.getToolId()).isEqualTo(EXAMPLE_ORIGIN);
+        assertThat(summary.getSize()).isEqualTo(2);
+        assertThat(summary.getSizeOf(Severity.WARNING_HIGH)).isEqualTo(2);
+        assertThat(summary.getSizeOf(Severity.ERROR)).isZero();
+    }
+
+    @Test
+    void selectReportSummariesShouldEscapeWildcards() {
+        ReportRepository reportRepository = mock(ReportRepository.class);
+        EntityService sut = createEntityService(mock(IssueRepository.class), reportRepository);
+        PageRequest pageable = PageRequest.of(0, 10);
+        when(reportRepository.findAllMatching(anyString(), eq(pageable))).thenReturn(Page.empty(pageable));
+
+        assertThat(sut.selectReportSummaries("50%_Done\\", pageable)).isEmpty();
+
+        verify(reportRepository).findAllMatching("%50\\%\\_done\\\\%", pageable);
+    }
+
+    @Test
+    void countIssuesByPropertyInDatabase() {
+        IssueRepository issueRepository = mock(IssueRepository.class);
+        EntityService sut = new EntityService(issueRepository, mock(ReportRepository.class),
+                mock(SnapshotRepository.class), mock(Dictionary.class), mock(HotspotAggregator.class), MAPPER,
+                createManager(Collections.emptyList()), BATCH_SIZE, false);
+
+        PropertyCount design = createCount("Design", 15L);
+        PropertyCount style = createCount("Code Style", 53L);
+        when(issueRepository.countByCategory(EXAMPLE_ORIGIN, EXAMPLE_REFERENCE)).thenReturn(Arrays.asList(style, design));
+
+        assertThat(sut.countIssuesByProperty(EXAMPLE_ORIGIN, EXAMPLE_REFERENCE, IssueProperty.CATEGORY))
+                .containsExactly(entry("Code Style", 53), entry("Design", 15));
+        assertThat(sut.countIssuesByProperty(EXAMPLE_ORIGIN, EXAMPLE_REFERENCE, IssueProperty.TYPE)).isEmpty();
+    }
+
+    @Test
+    void countIssuesByPropertyFromStoredDistribution() {
+        IssueRepository issueRepository = mock(IssueRepository.class);
+        DistributionEntity distribution = new DistributionEntity(new ReportEntity());
+        try (IssueBuilder builder = new IssueBuilder()) {
+            distribution.add(builder.setCategory("Design").setSeverity(Severity.ERROR).build());
+            distribution.add(builder.setCategory("Code Style").setSeverity(Severity.WARNING_LOW).build());
+            distribution.add(builder.setCategory("Design").build());
+        }
+        EntityService sut = new EntityService(issueRepository, mock(ReportRepository.class),
+                mock(SnapshotRepository.class), mock(Dictionary.class), mock(HotspotAggregator.class), MAPPER,
+                createManager(Collections.singletonList(distribution)), BATCH_SIZE, false);
+
+        assertThat(sut.countIssuesByProperty(EXAMPLE_ORIGIN, EXAMPLE_REFERENCE, IssueProperty.CATEGORY))
+                .containsExactly(entry("Code Style", 1), entry("Design", 2));
+        assertThat(sut.countIssuesByProperties(EXAMPLE_ORIGIN, EXAMPLE_REFERENCE,
+                Arrays.asList(IssueProperty.SEVERITY, IssueProperty.MODULE_NAME)))
+                .containsOnlyKeys(IssueProperty.SEVERITY, IssueProperty.MODULE_NAME)
+                .hasEntrySatisfying(IssueProperty.SEVERITY,
+                        counts -> assertThat(counts).containsExactly(entry("ERROR", 1), entry("LOW", 2)))
+                .hasEntrySatisfying(IssueProperty.MODULE_NAME,
+                        counts -> assertThat(counts).containsExactly(entry("", 3)));
+        verifyNoInteractions(issueRepository);
+    }
+
+    @Test
+    void insertIssuesInBatches() {
+        EntityManager manager = mock(EntityManager.class);
+        ReportRepository reportRepository = mock(ReportRepository.class);
+        EntityService sut = new EntityService(mock(IssueRepository.class), reportRepository,
+                mock(SnapshotRepository.class), mock(Dictionary.class), mock(HotspotAggregator.class), MAPPER,
+                manager, 1, false);
+
+        sut.insertInBatches(ISSUES);
+
+        verify(reportRepository).findForUpdate(ISSUES.getId(), ISSUES.getOriginReportFile());
+        verify(reportRepository).saveAndFlush(any(ReportEntity.class));
+        verify(manager, times(2)).persist(any(IssueEntity.class));
+        verify(manager).persist(any(DistributionEntity.class));
+        verify(manager, times(3)).flush();
+        verify(manager, times(3)).clear();
+    }
+
+    @Test
+    void upsertShouldOnlyWriteChangedIssuesOfExistingReport() {
+        IssueRepository issueRepository = mock(IssueRepository.class);
+        ReportRepository reportRepository = mock(ReportRepository.class);
+        EntityManager manager = mock(EntityManager.class);
+        ReportEntity stored = new ReportEntity();
+        stored.setId(EXAMPLE_UUID);
+        stored.setBuild(1);
+        when(reportRepository.findForUpdate(ISSUES.getId(), ISSUES.getOriginReportFile()))
+                .thenReturn(Optional.of(stored));
+        when(issueRepository.findAllOfReport(EXAMPLE_UUID)).thenReturn(Arrays.asList(
+                ReportDiffTest.createStoredIssue(1, FIRST_ISSUE),
+                ReportDiffTest.createStoredIssue(3, new IssueBuilder().setLineStart(3).build())));
+        EntityService sut = new EntityService(issueRepository, reportRepository, mock(SnapshotRepository.class),
+                mock(Dictionary.class), mock(HotspotAggregator.class), MAPPER, manager, BATCH_SIZE, false);
+
+        ReportDelta delta = sut.upsert(ISSUES, count -> {
+        });
+
+        assertThat(delta.getReportId()).isEqualTo(EXAMPLE_UUID);
+        assertThat(delta.getNewIssues()).isEqualTo(1);
+        assertThat(delta.getFixedIssues()).isEqualTo(1);
+        assertThat(delta.getOutstandingIssues()).isEqualTo(1);
+
+        verify(issueRepository).deleteByIds(Collections.singletonList(3));
+        verify(reportRepository, never()).saveAndFlush(any(ReportEntity.class));
+        verify(manager, times(1)).persist(any(IssueEntity.class));
+        verify(manager).persist(any(SnapshotEntity.class));
+        verify(manager).persist(any(DistributionEntity.class));
+        assertThat(stored.getBuild()).isEqualTo(2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private EntityManager createManager(final List<DistributionEntity> distributions) {
+        EntityManager manager = mock(EntityManager.class);
+        TypedQuery<DistributionEntity> query = mock(TypedQuery.class);
+        when(query.getResultList()).thenReturn(distributions);
+        when(manager.createQuery(anyString(), eq(DistributionEntity.class))).thenReturn(query);
+        return manager;
+    }
+
+    private PropertyCount createCount(final String label, final long total) {
+        PropertyCount count = mock(PropertyCount.class);
+        when(count.getLabel()).thenReturn(label);
+        when(count.getTotal()).thenReturn(total);
+        return count;
+    }
+
     private EntityService createEntityService(final IssueRepository issueRepository) {
-        return new EntityService(issueRepository, mock(ReportRepository.class), MAPPER, mock(EntityManager.class));
+        return createEntityService(issueRepository, mock(ReportRepository.class));
     }
 
     private EntityService createEntityService(final IssueRepository issueRepository,
             final ReportRepository reportRepository) {
-        return new EntityService(issueRepository, reportRepository, MAPPER, mock(EntityManager.class));
+        return new EntityService(issueRepository, reportRepository, mock(SnapshotRepository.class),
+                mock(Dictionary.class), mock(HotspotAggregator.class), MAPPER, mock(EntityManager.class), BATCH_SIZE,
+                false);
     }
 }
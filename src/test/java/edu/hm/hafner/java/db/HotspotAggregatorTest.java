@@ -0,0 +1,80 @@
+package edu.hm.hafner.java.db;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import edu.hm.hafner.analysis.IssueBuilder;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the class {@link HotspotAggregator}.
+ */
+class HotspotAggregatorTest {
+    private static final int FILES = 2500;
+    private static final int OVERLAP_START = 1000;
+
+    @Test
+    void shouldLockOverlappingUploadsInSameGlobalOrder() {
+        Dictionary dictionary = mock(Dictionary.class);
+        // the IDs of the dictionary are unique but not in the alphabetical order of the labels
+        when(dictionary.getId(anyString())).thenAnswer(invocation ->
+                Integer.parseInt(invocation.getArgument(0, String.class).replaceAll("\\D", "")) * 7919 % 10_007);
+
+        List<Integer> first = lockOrder(dictionary, createDelta(0));
+        List<Integer> second = lockOrder(dictionary, createDelta(OVERLAP_START));
+
+        assertThat(first).hasSize(FILES).isSorted().doesNotHaveDuplicates();
+        assertThat(second).hasSize(FILES).isSorted().doesNotHaveDuplicates();
+        List<Integer> overlap = new ArrayList<>(first);
+        overlap.retainAll(second);
+        assertThat(overlap).hasSize(FILES - OVERLAP_START);
+    }
+
+    @Test
+    void shouldCreateAllMissingAggregatesBeforeLocking() {
+        HotspotRepository repository = mock(HotspotRepository.class);
+        HotspotAggregator aggregator = new HotspotAggregator(repository, mock(Dictionary.class),
+                mock(PlatformTransactionManager.class));
+
+        aggregator.update("pmd", createDelta(0));
+
+        InOrder inOrder = inOrder(repository);
+        inOrder.verify(repository, times(4)).saveAllAndFlush(anyList());
+        inOrder.verify(repository, times(3)).findForUpdate(eq("pmd"), eq(IssueProperty.FILE_NAME), anyCollection());
+        inOrder.verify(repository).findForUpdate(eq("pmd"), eq(IssueProperty.PACKAGE_NAME), anyCollection());
+    }
+
+    private List<Integer> lockOrder(final Dictionary dictionary, final HotspotDelta delta) {
+        HotspotRepository repository = mock(HotspotRepository.class);
+        List<Integer> locked = new ArrayList<>();
+        when(repository.findForUpdate(eq("pmd"), eq(IssueProperty.FILE_NAME), anyCollection())).thenAnswer(
+                invocation -> {
+                    Collection<String> labels = invocation.getArgument(2);
+                    labels.forEach(label -> locked.add(dictionary.getId(label)));
+                    return Collections.emptyList();
+                });
+
+        new HotspotAggregator(repository, dictionary, mock(PlatformTransactionManager.class)).update("pmd", delta);
+
+        return locked;
+    }
+
+    private HotspotDelta createDelta(final int start) {
+        HotspotDelta delta = new HotspotDelta();
+        try (IssueBuilder builder = new IssueBuilder()) {
+            builder.setPackageName("package1");
+            for (int i = start; i < start + FILES; i++) {
+                delta.add(builder.setFileName("File" + i + ".java").build());
+            }
+        }
+        return delta;
+    }
+}
@@ -0,0 +1,51 @@
+package edu.hm.hafner.java.db;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.analysis.Severity;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link HotspotDelta}.
+ */
+class HotspotDeltaTest {
+    @Test
+    void shouldCountInsertedIssuesBySeverity() {
+        HotspotDelta delta = new HotspotDelta();
+
+        delta.add(createIssue("A.java", Severity.ERROR));
+        delta.add(createIssue("A.java", Severity.WARNING_LOW));
+        delta.add(createIssue("B.java", Severity.WARNING_LOW));
+
+        assertThat(delta.getChanges(IssueProperty.FILE_NAME)).containsOnlyKeys("A.java", "B.java")
+                .hasEntrySatisfying("A.java", counts -> assertThat(counts).containsExactly(1, 0, 0, 1))
+                .hasEntrySatisfying("B.java", counts -> assertThat(counts).containsExactly(0, 0, 0, 1));
+        assertThat(delta.getChanges(IssueProperty.PACKAGE_NAME)).containsOnlyKeys("edu.hm.hafner")
+                .hasEntrySatisfying("edu.hm.hafner", counts -> assertThat(counts).containsExactly(1, 0, 0, 2));
+        assertThat(delta.getChanges(IssueProperty.MODULE_NAME)).isEmpty();
+    }
+
+    @Test
+    void shouldSkipChangesThatCancelEachOtherOut() {
+        HotspotDelta delta = new HotspotDelta();
+        Issue moved = createIssue("A.java", Severity.WARNING_HIGH);
+
+        delta.add(moved);
+        delta.remove(ReportDiffTest.createStoredIssue(1, moved));
+        delta.remove(ReportDiffTest.createStoredIssue(2, createIssue("B.java", Severity.WARNING_HIGH)));
+
+        assertThat(delta.getChanges(IssueProperty.FILE_NAME)).containsOnlyKeys("B.java")
+                .hasEntrySatisfying("B.java", counts -> assertThat(counts).containsExactly(0, -1, 0, 0));
+        assertThat(delta.getChanges(IssueProperty.PACKAGE_NAME))
+                .hasEntrySatisfying("edu.hm.hafner", counts -> assertThat(counts).containsExactly(0, -1, 0, 0));
+    }
+
+    private Issue createIssue(final String fileName, final Severity severity) {
+        try (IssueBuilder builder = new IssueBuilder()) {
+            return builder.setFileName(fileName).setPackageName("edu.hm.hafner").setSeverity(severity).build();
+        }
+    }
+}
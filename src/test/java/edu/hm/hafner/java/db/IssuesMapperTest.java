@@ -1,5 +1,7 @@
 package edu.hm.hafner.java.db;
 
+import java.util.List;
+
 import org.assertj.core.api.SoftAssertions;
 import org.junit.jupiter.api.Test;
 
@@ -71,6 +73,28 @@ class IssuesMapperTest {
         softly.assertAll();
     }
 
+    @Test
+    void shouldMapIssuesInBatch() {
+        Mapper mapper = new Mapper();
+
+        List<IssueEntity> entities = mapper.mapIssues(ISSUES.get());
+
+        assertThat(entities).hasSize(ISSUES.size());
+        assertThat(entities.get(1).getFileName()).isEqualTo("file-1");
+        assertThat(entities.get(4).getFileName()).isEqualTo("file-2");
+
+        List<Issue> issues = mapper.mapEntities(entities);
+
+        assertThat(issues).hasSize(ISSUES.size());
+        for (int i = 0; i < ISSUES.size(); i++) {
+            Issue expected = ISSUES.get(i);
+            Issue actual = issues.get(i);
+            assertThat(actual.getMessage()).isEqualTo(expected.getMessage());
+            assertThat(actual.getFileName()).isEqualTo(expected.getFileName());
+            assertThat(actual.getSeverity()).isEqualTo(expected.getSeverity());
+        }
+    }
+
     private void assertIssuesAndEntityEqual(final SoftAssertions softly, final ReportEntity entity, final Report issues) {
         softly.assertThat(entity.getToolName()).isEqualTo(issues.getName());
         softly.assertThat(entity.getOriginReportFile()).isEqualTo(issues.getOriginReportFile());
@@ -0,0 +1,100 @@
+package edu.hm.hafner.java.db;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Objects;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Verifies that the Flyway migrations upgrade a PostgreSQL database that has been created with the former
+ * {@code create.sql}. The database is migrated once for all tests. This test requires Docker and will be skipped
+ * otherwise.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class MigrationsTest {
+    private static final int ALLOCATION_SIZE = 50;
+    private static final int STORED_ISSUES = 120;
+    private static final int ARCHIVED_ISSUES = 3;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    @BeforeAll
+    static void migrateDatabaseOfFormerSchema() throws SQLException, IOException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute(readScript("/db/create-before-flyway.sql"));
+        }
+
+        Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .schemas("analysis")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+    }
+
+    @Test
+    void shouldContinueIssueIdsAfterStoredIssuesOfBaselinedDatabase() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            assertThat(selectLong(statement, "select increment_by from pg_sequences "
+                    + "where schemaname = 'analysis' and sequencename = 'issues_id_seq'")).isEqualTo(ALLOCATION_SIZE);
+            try (ResultSet columnDefault = statement.executeQuery("select column_default "
+                    + "from information_schema.columns "
+                    + "where table_schema = 'analysis' and table_name = 'issues' and column_name = 'id'")) {
+                assertThat(columnDefault.next()).isTrue();
+                assertThat(columnDefault.getString(1)).isNull();
+            }
+
+            // Hibernate allocates the block of IDs (value - 49) to value for each value of the sequence
+            long first = selectLong(statement, "select nextval('analysis.issues_id_seq')");
+            long second = selectLong(statement, "select nextval('analysis.issues_id_seq')");
+            assertThat(first - ALLOCATION_SIZE + 1).isGreaterThan(STORED_ISSUES);
+            assertThat(second).isEqualTo(first + ALLOCATION_SIZE);
+            assertThat(selectLong(statement, "select count(*) from analysis.issues")).isEqualTo(STORED_ISSUES);
+        }
+    }
+
+    @Test
+    void shouldArchiveOlderUploadsOfDuplicateReports() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            assertThat(selectLong(statement, "select count(*) from analysis.report")).isOne();
+            assertThat(selectLong(statement, "select id from analysis.report")).isEqualTo(2);
+            assertThat(selectLong(statement, "select count(*) from analysis.report_archive")).isOne();
+            assertThat(selectLong(statement, "select id from analysis.report_archive")).isEqualTo(1);
+            assertThat(selectLong(statement, "select count(*) from analysis.issues_archive where issues_id = 1"))
+                    .isEqualTo(ARCHIVED_ISSUES);
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+
+    private long selectLong(final Statement statement, final String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            assertThat(resultSet.next()).isTrue();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static String readScript(final String name) throws IOException {
+        try (InputStream stream = Objects.requireNonNull(MigrationsTest.class.getResourceAsStream(name))) {
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package edu.hm.hafner.java.db;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.java.db.IssueRepository.StoredIssue;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the class {@link ReportDiff}.
+ */
+class ReportDiffTest {
+    @Test
+    void shouldInsertAllIssuesOfFirstUpload() {
+        List<Issue> uploaded = Arrays.asList(createIssue(1, "-"), createIssue(2, "-"));
+
+        ReportDiff diff = new ReportDiff(Collections.emptyList(), uploaded);
+
+        assertThat(diff.getInsertions()).isEqualTo(uploaded);
+        assertThat(diff.getDeletions()).isEmpty();
+        assertThat(diff.getNewIssues()).isEqualTo(2);
+        assertThat(diff.getFixedIssues()).isZero();
+        assertThat(diff.getOutstandingIssues()).isZero();
+    }
+
+    @Test
+    void shouldNotTouchUnchangedIssues() {
+        Issue issue = createIssue(1, "-");
+
+        ReportDiff diff = new ReportDiff(Arrays.asList(createStoredIssue(10, issue), createStoredIssue(11, issue)),
+                Arrays.asList(issue, issue));
+
+        assertThat(diff.getInsertions()).isEmpty();
+        assertThat(diff.getDeletions()).isEmpty();
+        assertThat(diff.getOutstandingIssues()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldDetectNewAndFixedIssues() {
+        Issue outstanding = createIssue(1, "-");
+        Issue fixed = createIssue(2, "-");
+        Issue added = createIssue(3, "-");
+
+        ReportDiff diff = new ReportDiff(
+                Arrays.asList(createStoredIssue(10, outstanding), createStoredIssue(11, fixed)),
+                Arrays.asList(outstanding, added));
+
+        assertThat(diff.getInsertions()).containsExactly(added);
+        assertThat(diff.getDeletions()).containsExactly(11);
+        assertThat(diff.getNewIssues()).isEqualTo(1);
+        assertThat(diff.getFixedIssues()).isEqualTo(1);
+        assertThat(diff.getOutstandingIssues()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReplaceMovedIssuesWithSameFingerprint() {
+        Issue moved = createIssue(5, "fingerprint");
+
+        ReportDiff diff = new ReportDiff(
+                Collections.singletonList(createStoredIssue(10, createIssue(1, "fingerprint"))),
+                Collections.singletonList(moved));
+
+        assertThat(diff.getInsertions()).containsExactly(moved);
+        assertThat(diff.getDeletions()).containsExactly(10);
+        assertThat(diff.getNewIssues()).isZero();
+        assertThat(diff.getFixedIssues()).isZero();
+        assertThat(diff.getOutstandingIssues()).isEqualTo(1);
+    }
+
+    private Issue createIssue(final int line, final String fingerprint) {
+        return new IssueBuilder().setLineStart(line).setFingerprint(fingerprint).setMessage("Message").build();
+    }
+
+    static StoredIssue createStoredIssue(final int id, final Issue issue) {
+        StoredIssue stored = mock(StoredIssue.class);
+        when(stored.getId()).thenReturn(id);
+        when(stored.getFingerprint()).thenReturn(issue.getFingerprint());
+        when(stored.getFileName()).thenReturn(issue.getFileName());
+        when(stored.getLineStart()).thenReturn(issue.getLineStart());
+        when(stored.getLineEnd()).thenReturn(issue.getLineEnd());
+        when(stored.getColumnStart()).thenReturn(issue.getColumnStart());
+        when(stored.getColumnEnd()).thenReturn(issue.getColumnEnd());
+        when(stored.getCategory()).thenReturn(issue.getCategory());
+        when(stored.getType()).thenReturn(issue.getType());
+        when(stored.getSeverity()).thenReturn(issue.getSeverity().getName());
+        when(stored.getMessage()).thenReturn(issue.getMessage());
+        when(stored.getDescription()).thenReturn(issue.getDescription());
+        when(stored.getPackageName()).thenReturn(issue.getPackageName());
+        when(stored.getModuleName()).thenReturn(issue.getModuleName());
+        return stored;
+    }
+}
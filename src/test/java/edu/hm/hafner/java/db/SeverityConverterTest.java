@@ -0,0 +1,37 @@
+package edu.hm.hafner.java.db;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link SeverityConverter}.
+ */
+class SeverityConverterTest {
+    private final SeverityConverter converter = new SeverityConverter();
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {"ERROR", "HIGH", "NORMAL", "LOW"})
+    void shouldConvertSeverityToCodeAndBack(final String severity) {
+        Short code = converter.convertToDatabaseColumn(severity);
+
+        assertThat(code).isBetween((short) 1, (short) 4);
+        assertThat(converter.convertToEntityAttribute(code)).isEqualTo(severity);
+    }
+
+    @Test
+    void shouldUseOrderOfSeverities() {
+        assertThat(converter.convertToDatabaseColumn("ERROR")).isEqualTo((short) 1);
+        assertThat(converter.convertToDatabaseColumn("LOW")).isEqualTo((short) 4);
+    }
+
+    @Test
+    void shouldRejectUnknownValues() {
+        assertThatIllegalArgumentException().isThrownBy(() -> converter.convertToDatabaseColumn("UNKNOWN"));
+        assertThatIllegalArgumentException().isThrownBy(() -> converter.convertToEntityAttribute((short) 0));
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+}
@@ -0,0 +1,215 @@
+package edu.hm.hafner.java.uc;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.analysis.ParsingException;
+import edu.hm.hafner.analysis.ReaderFactory;
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.java.db.ReportDelta;
+import edu.hm.hafner.java.uc.IngestionJob.State;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the class {@link IngestionService}.
+ */
+class IngestionServiceTest {
+    private static final String TOOL = "pmd";
+    private static final String REFERENCE = "build-1";
+    private static final String FILE_NAME = "pmd.xml";
+
+    @Test
+    void shouldParseAndStoreReportInBackground() throws IOException, InterruptedException {
+        IssuesService issuesService = mock(IssuesService.class);
+        when(issuesService.parse(eq(TOOL), eq(REFERENCE), any())).thenReturn(createReport(3));
+        doAnswer(invocation -> {
+            invocation.<IntConsumer>getArgument(1).accept(3);
+            return new ReportDelta(1, 2, 1, 1);
+        }).when(issuesService).save(any(), any());
+
+        MeterRegistry registry = new SimpleMeterRegistry();
+        IngestionService service = new IngestionService(issuesService, Executors.newSingleThreadExecutor(),
+                new ForkJoinPool(2), new MemoryBudget(1024 * 1024, 8), Duration.ofSeconds(30), registry);
+        Path spool = Files.createTempFile("upload-", ".report");
+        Files.write(spool, new byte[4096]);
+
+        IngestionJob job = service.submit(TOOL, REFERENCE, FILE_NAME, spool);
+        service.shutdown();
+
+        assertThat(service.getJob(job.getId())).contains(job);
+        assertThat(job.getState()).isEqualTo(State.FINISHED);
+        assertThat(job.isDone()).isTrue();
+        assertThat(job.getParsedIssues()).isEqualTo(3);
+        assertThat(job.getPersistedIssues()).isEqualTo(3);
+        assertThat(job.getNewIssues()).isEqualTo(2);
+        assertThat(job.getFixedIssues()).isEqualTo(1);
+        assertThat(job.getError()).isNull();
+        assertThat(spool).doesNotExist();
+
+        assertThat(registry.get("ingestion.wait").timer().count()).isEqualTo(1);
+        assertThat(registry.get("ingestion.queued").gauge().value()).isZero();
+        assertThat(registry.get("ingestion.running").gauge().value()).isZero();
+        assertThat(registry.get("ingestion.memory.reserved").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldMergeFilesAndArchiveEntries() throws IOException, InterruptedException {
+        IssuesService issuesService = mock(IssuesService.class);
+        when(issuesService.parse(eq(TOOL), eq(REFERENCE), any())).thenAnswer(
+                invocation -> createReport(invocation.<ReaderFactory>getArgument(2).getFileName()));
+        when(issuesService.save(any(), any())).thenReturn(new ReportDelta(1, 3, 0, 0));
+
+        IngestionService service = new IngestionService(issuesService, Executors.newSingleThreadExecutor(),
+                new ForkJoinPool(2));
+        Path file = Files.createTempFile("upload-", ".report");
+        Path archive = Files.createTempFile("upload-", ".report");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(archive))) {
+            zip.putNextEntry(new ZipEntry("core/pmd.xml"));
+            zip.putNextEntry(new ZipEntry("ui/"));
+            zip.putNextEntry(new ZipEntry("ui/pmd.xml"));
+        }
+
+        IngestionJob job = service.submit(TOOL, REFERENCE,
+                Arrays.asList(new SpooledFile(FILE_NAME, file), new SpooledFile("modules.zip", archive)));
+        service.shutdown();
+
+        assertThat(job.getState()).isEqualTo(State.FINISHED);
+        assertThat(job.getParsedIssues()).isEqualTo(3);
+        assertThat(file).doesNotExist();
+        assertThat(archive).doesNotExist();
+
+        ArgumentCaptor<Report> report = ArgumentCaptor.forClass(Report.class);
+        verify(issuesService).save(report.capture(), any());
+        assertThat(report.getValue().getOriginReportFile()).isEqualTo(REFERENCE);
+        assertThat(report.getValue().get()).extracting(Issue::getFileName)
+                .containsExactly(FILE_NAME, "core/pmd.xml", "ui/pmd.xml");
+    }
+
+    @Test
+    void shouldCountParsedIssuesAfterEachFile() throws IOException, InterruptedException {
+        IssuesService issuesService = mock(IssuesService.class);
+        AtomicReference<IngestionJob> job = new AtomicReference<>();
+        List<Integer> progress = Collections.synchronizedList(new ArrayList<>());
+        when(issuesService.parse(eq(TOOL), eq(REFERENCE), any())).thenAnswer(invocation -> {
+            progress.add(job.get().getParsedIssues());
+            return createReport(invocation.<ReaderFactory>getArgument(2).getFileName());
+        });
+        when(issuesService.save(any(), any())).thenReturn(new ReportDelta(1, 3, 0, 0));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch submitted = new CountDownLatch(1);
+        executor.execute(() -> awaitUninterruptibly(submitted));
+        IngestionService service = new IngestionService(issuesService, executor, new ForkJoinPool(1));
+        Path archive = Files.createTempFile("upload-", ".report");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(archive))) {
+            zip.putNextEntry(new ZipEntry("core/pmd.xml"));
+            zip.putNextEntry(new ZipEntry("ui/pmd.xml"));
+            zip.putNextEntry(new ZipEntry("web/pmd.xml"));
+        }
+
+        job.set(service.submit(TOOL, REFERENCE, Collections.singletonList(new SpooledFile("modules.zip", archive))));
+        submitted.countDown();
+        service.shutdown();
+
+        assertThat(job.get().getState()).isEqualTo(State.FINISHED);
+        assertThat(progress).containsExactlyInAnyOrder(0, 1, 2);
+        assertThat(job.get().getParsedIssues()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldReportFailure() throws IOException, InterruptedException {
+        IssuesService issuesService = mock(IssuesService.class);
+        when(issuesService.parse(anyString(), anyString(), any())).thenThrow(new ParsingException("Broken XML"));
+
+        IngestionService service = new IngestionService(issuesService, Executors.newSingleThreadExecutor(),
+                new ForkJoinPool(2));
+        Path spool = Files.createTempFile("upload-", ".report");
+
+        IngestionJob job = service.submit(TOOL, REFERENCE, FILE_NAME, spool);
+        service.shutdown();
+
+        assertThat(job.getState()).isEqualTo(State.FAILED);
+        assertThat(job.isDone()).isTrue();
+        assertThat(job.getError()).contains("Broken XML");
+        assertThat(spool).doesNotExist();
+        verify(issuesService, never()).save(any(), any());
+    }
+
+    @Test
+    void shouldRejectUploadIfQueueIsFull() throws IOException {
+        ExecutorService executor = mock(ExecutorService.class);
+        doThrow(new RejectedExecutionException()).when(executor).execute(any());
+
+        MeterRegistry registry = new SimpleMeterRegistry();
+        IngestionService service = new IngestionService(mock(IssuesService.class), executor, new ForkJoinPool(1),
+                new MemoryBudget(1024, 1), Duration.ofSeconds(30), registry);
+        Path spool = Files.createTempFile("upload-", ".report");
+
+        IngestionRejectedException exception = catchThrowableOfType(
+                () -> service.submit(TOOL, REFERENCE, FILE_NAME, spool), IngestionRejectedException.class);
+        assertThat(exception).isNotNull();
+        assertThat(exception.getRetryAfter()).hasSeconds(30);
+        assertThat(spool).doesNotExist();
+        assertThat(registry.get("ingestion.rejected").counter().count()).isEqualTo(1);
+        assertThat(registry.get("ingestion.queued").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldNotFindUnknownJob() {
+        IngestionService service = new IngestionService(mock(IssuesService.class), mock(ExecutorService.class),
+                new ForkJoinPool(1));
+
+        assertThat(service.getJob("unknown")).isEmpty();
+    }
+
+    private void awaitUninterruptibly(final CountDownLatch latch) {
+        try {
+            latch.await();
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Report createReport(final String fileName) {
+        Report report = new Report(TOOL, "PMD", REFERENCE);
+        report.add(new IssueBuilder().setFileName(fileName).build());
+        return report;
+    }
+
+    private Report createReport(final int size) {
+        Report report = new Report(TOOL, "PMD", REFERENCE);
+        try (IssueBuilder builder = new IssueBuilder()) {
+            for (int i = 0; i < size; i++) {
+                report.add(builder.setLineStart(i).build());
+            }
+        }
+        return report;
+    }
+}
@@ -1,13 +1,35 @@
 package edu.hm.hafner.java.uc;
 
-import java.util.Optional;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 
 import com.google.gson.Gson;
 
+import edu.hm.hafner.analysis.Issue;
 import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.analysis.Severity;
 import edu.hm.hafner.java.db.EntityService;
+import edu.hm.hafner.java.db.IssueProperty;
+import edu.hm.hafner.java.db.IssueSearchHit;
+import edu.hm.hafner.java.db.IssueSummary;
+import edu.hm.hafner.java.db.OffsetPageRequest;
+import edu.hm.hafner.java.db.ReportDelta;
+import edu.hm.hafner.java.db.ReportSnapshot;
+import edu.hm.hafner.java.db.ReportSummary;
+import edu.hm.hafner.util.NoSuchElementException;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -42,6 +64,165 @@ class IssuesServiceTest {
         assertThat(toJson(distribution)).isEqualTo("{\"labels\":[\"OptimizableToArrayCall\",\"LooseCoupling\",\"MethodArgumentCouldBeFinal\",\"UncommentedEmptyMethodBody\",\"ConfusingTernary\",\"MissingSerialVersionUID\",\"GuardLogStatement\",\"UnusedFormalParameter\",\"LoggerIsNotStaticFinal\",\"AssignmentInOperand\",\"ImmutableField\",\"CompareObjectsWithEquals\",\"UnnecessaryConstructor\",\"CyclomaticComplexity\",\"UnusedPrivateMethod\",\"ConsecutiveLiteralAppends\",\"CallSuperInConstructor\",\"UnusedPrivateField\",\"AppendCharacterWithChar\",\"ExcessivePublicCount\",\"NPathComplexity\",\"ExcessiveImports\",\"AvoidDeeplyNestedIfStmts\",\"AccessorClassGeneration\",\"UncommentedEmptyConstructor\"],\"datasets\":[{\"data\":[1,1,13,2,9,4,8,2,4,1,2,3,13,3,3,4,18,1,1,2,3,4,1,5,1]}]}");
     }
 
+    @Test
+    void shouldCreateAllDistributionsWithOneQuery() {
+        EntityService entityService = mock(EntityService.class);
+        IssuesService service = new IssuesService(entityService);
+        Map<IssueProperty, Map<String, Integer>> counts = new EnumMap<>(IssueProperty.class);
+        counts.put(IssueProperty.CATEGORY, Collections.singletonMap("Design", 15));
+        counts.put(IssueProperty.SEVERITY, Collections.singletonMap("NORMAL", 15));
+        when(entityService.countIssuesByProperties("pmd", "reference",
+                Arrays.asList(IssueProperty.CATEGORY, IssueProperty.SEVERITY))).thenReturn(counts);
+
+        Map<String, IssuePropertyDistribution> distributions = service.createDistributions("pmd", "reference",
+                Arrays.asList("category", "severity"));
+
+        assertThat(toJson(distributions)).isEqualTo("{"
+                + "\"category\":{\"labels\":[\"Design\"],\"datasets\":[{\"data\":[15]}]},"
+                + "\"severity\":{\"labels\":[\"NORMAL\"],\"datasets\":[{\"data\":[15]}]}}");
+        verify(entityService, never()).containsReport(anyString(), anyString());
+    }
+
+    @Test
+    void shouldThrowExceptionIfReportDoesNotExist() {
+        EntityService entityService = mock(EntityService.class);
+        IssuesService service = new IssuesService(entityService);
+        when(entityService.countIssuesByProperty(anyString(), anyString(), any())).thenReturn(Collections.emptyMap());
+
+        assertThatExceptionOfType(NoSuchElementException.class)
+                .isThrownBy(() -> service.createDistributionByCategory("dummy-id", "missing"));
+
+        when(entityService.containsReport("dummy-id", "empty")).thenReturn(true);
+        assertThat(toJson(service.createDistributionByCategory("dummy-id", "empty")))
+                .isEqualTo("{\"labels\":[],\"datasets\":[{\"data\":[]}]}");
+    }
+
+    @Test
+    void shouldCreateTrendOfLatestBuilds() {
+        EntityService entityService = mock(EntityService.class);
+        IssuesService service = new IssuesService(entityService);
+        Map<Severity, Integer> first = new HashMap<>();
+        first.put(Severity.ERROR, 2);
+        first.put(Severity.WARNING_NORMAL, 10);
+        Map<Severity, Integer> second = new HashMap<>();
+        second.put(Severity.WARNING_NORMAL, 8);
+        when(entityService.selectSnapshots("pmd", "reference", 100)).thenReturn(Arrays.asList(
+                new ReportSnapshot(1, Instant.EPOCH, 12, first, 12, 0),
+                new ReportSnapshot(2, Instant.EPOCH, 8, second, 1, 5)));
+
+        assertThat(toJson(service.createTrend("pmd", "reference", 1000))).isEqualTo("{\"labels\":[\"1\",\"2\"],"
+                + "\"datasets\":[{\"label\":\"Total\",\"data\":[12,8]},{\"label\":\"Error\",\"data\":[2,0]},"
+                + "{\"label\":\"High\",\"data\":[0,0]},{\"label\":\"Normal\",\"data\":[10,8]},"
+                + "{\"label\":\"Low\",\"data\":[0,0]},{\"label\":\"New\",\"data\":[12,1]},"
+                + "{\"label\":\"Fixed\",\"data\":[0,5]}]}");
+
+        assertThatExceptionOfType(NoSuchElementException.class)
+                .isThrownBy(() -> service.createTrend("pmd", "missing", 10));
+    }
+
+    @Test
+    void shouldListIssuesWithCursorOfNextPage() {
+        EntityService entityService = mock(EntityService.class);
+        IssuesService service = new IssuesService(entityService);
+        Map<IssueProperty, String> filters = new EnumMap<>(IssueProperty.class);
+        filters.put(IssueProperty.SEVERITY, "HIGH");
+        when(entityService.selectIssues(1, filters, 0, 3)).thenReturn(Arrays.asList(
+                createIssue(10), createIssue(20), createIssue(30)));
+        when(entityService.selectIssues(1, filters, 20, 3)).thenReturn(Collections.singletonList(createIssue(30)));
+        when(entityService.containsReport(1)).thenReturn(true);
+
+        IssuesListing first = service.listIssues(1, filters, 0, 2);
+        assertThat(first.getIssues()).extracting(IssueSummary::getId).containsExactly(10, 20);
+        assertThat(first.getNext()).isEqualTo(20);
+        assertThat(toJson(first)).startsWith("{\"issues\":[{\"id\":10,\"severity\":\"HIGH\"").endsWith(",\"next\":20}");
+
+        IssuesListing last = service.listIssues(1, filters, 20, 2);
+        assertThat(last.getIssues()).extracting(IssueSummary::getId).containsExactly(30);
+        assertThat(last.getNext()).isNull();
+
+        assertThat(service.listIssues(1, filters, 30, 2).getIssues()).isEmpty();
+        assertThatExceptionOfType(NoSuchElementException.class)
+                .isThrownBy(() -> service.listIssues(2, filters, 0, 2));
+    }
+
+    @Test
+    void shouldSearchIssuesOfAllReports() {
+        EntityService entityService = mock(EntityService.class);
+        IssuesService service = new IssuesService(entityService);
+        IssueSearchHit hit = new IssueSearchHit(1, "spotbugs", "build-1", 10, "HIGH", "Bad practice", "NP",
+                "edu.hm.hafner", "core", "Main.java", 5, 5, "Possible NullPointerException");
+        when(entityService.searchIssues("NullPointerException", PageRequest.of(2, 1000)))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(hit), PageRequest.of(2, 1000), true));
+
+        IssuesSearchResult result = service.search(" NullPointerException ", 2, 5000);
+
+        assertThat(result.getHits()).containsExactly(hit);
+        assertThat(result.getPage()).isEqualTo(2);
+        assertThat(result.hasNext()).isTrue();
+        assertThat(toJson(result)).startsWith("{\"query\":\" NullPointerException \",\"page\":2,\"hasNext\":true,"
+                + "\"hits\":[{\"reportId\":1,\"toolId\":\"spotbugs\",\"originReportFile\":\"build-1\",\"id\":10,");
+
+        assertThat(service.search(" ", 0, 10).getHits()).isEmpty();
+        verify(entityService).searchIssues("NullPointerException", PageRequest.of(2, 1000));
+        verifyNoMoreInteractions(entityService);
+    }
+
+    @Test
+    void shouldCreateRequestedPageOfStatistics() {
+        EntityService entityService = mock(EntityService.class);
+        IssuesService service = new IssuesService(entityService);
+        Map<Severity, Integer> sizes = new HashMap<>();
+        sizes.put(Severity.WARNING_HIGH, 12);
+        sizes.put(Severity.WARNING_NORMAL, 97);
+        ReportSummary report = new ReportSummary(1, "pmd", "PMD", "Initial-Test-Report", sizes);
+        when(entityService.countReports()).thenReturn(42L);
+        when(entityService.selectReportSummaries(anyString(), any(Pageable.class))).thenAnswer(
+                invocation -> new PageImpl<>(Collections.singletonList(report), invocation.getArgument(1), 21));
+
+        IssuesTable table = service.createIssuesStatistics(new TableRequest(7, 20, 10, "PMD", 1, false));
+
+        verify(entityService).selectReportSummaries("PMD",
+                new OffsetPageRequest(20, 10, Sort.by(Sort.Direction.DESC, "toolName", "id")));
+        assertThat(toJson(table)).isEqualTo("{\"draw\":7,\"recordsTotal\":42,\"recordsFiltered\":21,"
+                + "\"data\":[[\"pmd\",\"PMD\",\"Initial-Test-Report\",\"109\",\"0\",\"12\",\"97\",\"0\"]]}");
+    }
+
+    @Test
+    void shouldUpdateReportThatHasBeenCreatedConcurrently() {
+        EntityService entityService = mock(EntityService.class);
+        IssuesService service = new IssuesService(entityService);
+        Report report = new Report();
+        ReportDelta delta = new ReportDelta(1, 0, 0, 0);
+        when(entityService.upsert(eq(report), any(IntConsumer.class)))
+                .thenThrow(new DataIntegrityViolationException("report_tool_id_origin_report_file_idx"))
+                .thenReturn(delta);
+
+        assertThat(service.save(report, count -> {
+        })).isSameAs(delta);
+        verify(entityService).resolveLabels(report);
+        verify(entityService, times(2)).upsert(eq(report), any(IntConsumer.class));
+    }
+
+    @Test
+    void shouldStartPageOfStatisticsAtRequestedRow() {
+        EntityService entityService = mock(EntityService.class);
+        IssuesService service = new IssuesService(entityService);
+        when(entityService.selectReportSummaries(anyString(), any(Pageable.class))).thenAnswer(
+                invocation -> new PageImpl<>(Collections.emptyList(), invocation.getArgument(1), 42));
+
+        service.createIssuesStatistics(new TableRequest(1, 15, 10, "", -1, true));
+        service.createIssuesStatistics(new TableRequest(2, -5, 10, "", -1, true));
+
+        verify(entityService).selectReportSummaries(eq(""), argThat(pageable -> pageable.getOffset() == 15
+                && pageable.getPageSize() == 10 && pageable.getSort().equals(Sort.by("id"))));
+        verify(entityService).selectReportSummaries(eq(""), argThat(pageable -> pageable.getOffset() == 0));
+    }
+
+    private IssueSummary createIssue(final int id) {
+        return new IssueSummary(id, "HIGH", "Design", "GodClass", "edu.hm.hafner", "core", "Main.java", id, id,
+                "Message " + id);
+    }
+
     private String toJson(final Object object) {
         Gson gson = new Gson();
         return gson.toJson(object);
@@ -53,7 +234,10 @@ class IssuesServiceTest {
         IssuesTestData data = new IssuesTestData(entityService, issuesService);
         Report testData = data.createTestData();
 
-        when(entityService.selectReportByToolIdAndOriginReportFile(anyString(), anyString())).thenReturn(Optional.of(testData));
+        when(entityService.countIssuesByProperty(anyString(), anyString(), eq(IssueProperty.CATEGORY)))
+                .thenReturn(testData.getPropertyCount(Issue::getCategory));
+        when(entityService.countIssuesByProperty(anyString(), anyString(), eq(IssueProperty.TYPE)))
+                .thenReturn(testData.getPropertyCount(Issue::getType));
 
         return new IssuesService(entityService);
     }
@@ -0,0 +1,106 @@
+package edu.hm.hafner.java.uc;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.java.db.EntityService;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the class {@link IssuesTestData}.
+ */
+class IssuesTestDataTest {
+    private static final String REFERENCE = "Initial-Test-Report";
+
+    @Test
+    void shouldStoreTestDataOnce() {
+        EntityService entityService = mock(EntityService.class);
+        IssuesTestData data = new IssuesTestData(entityService, new IssuesService(entityService));
+
+        data.storeTestData();
+
+        verify(entityService).upsert(argThat(report -> report.getId().equals("pmd")
+                && report.getOriginReportFile().equals(REFERENCE) && report.size() == 109), any());
+
+        when(entityService.containsReport("pmd", REFERENCE)).thenReturn(true);
+
+        data.storeTestData();
+
+        verify(entityService, times(1)).upsert(any(Report.class), any());
+    }
+
+    @Test
+    void shouldEvictCachedResultsWhenStoringTestData() {
+        try (AnnotationConfigApplicationContext context
+                = new AnnotationConfigApplicationContext(CachingConfiguration.class)) {
+            CacheManager cacheManager = context.getBean(CacheManager.class);
+            List<String> report = Arrays.asList("pmd", REFERENCE);
+            Cache statistics = getCache(cacheManager, "statistics");
+            statistics.put("count", 0L);
+            Cache details = getCache(cacheManager, "details");
+            details.put(report, Collections.emptyMap());
+            Cache distributions = getCache(cacheManager, "distributions");
+            distributions.put(Arrays.asList("pmd", REFERENCE, "category"), Collections.emptyMap());
+
+            context.getBean(IssuesTestData.class).storeTestData();
+
+            assertThat(statistics.get("count")).isNull();
+            assertThat(details.get(report)).isNull();
+            assertThat(distributions.get(Arrays.asList("pmd", REFERENCE, "category"))).isNull();
+        }
+    }
+
+    private Cache getCache(final CacheManager cacheManager, final String name) {
+        Cache cache = cacheManager.getCache(name);
+        assertThat(cache).isNotNull();
+        return cache;
+    }
+
+    @Test
+    void shouldReadTestDataFromPmdFile() {
+        IssuesTestData data = new IssuesTestData(mock(EntityService.class),
+                new IssuesService(mock(EntityService.class)));
+
+        assertThat(data.createTestData()).hasSize(109);
+    }
+
+    /**
+     * Creates the services with the caches of the application, the entity service is a stub.
+     */
+    @Configuration
+    @EnableCaching
+    static class CachingConfiguration {
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager("distributions", "details", "statistics");
+        }
+
+        @Bean
+        EntityService entityService() {
+            return mock(EntityService.class);
+        }
+
+        @Bean
+        IssuesService issuesService(final EntityService entityService) {
+            return new IssuesService(entityService);
+        }
+
+        @Bean
+        IssuesTestData issuesTestData(final EntityService entityService, final IssuesService issuesService) {
+            return new IssuesTestData(entityService, issuesService);
+        }
+    }
+}
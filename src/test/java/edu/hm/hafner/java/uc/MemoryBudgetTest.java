@@ -0,0 +1,58 @@
+package edu.hm.hafner.java.uc;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link MemoryBudget}.
+ */
+class MemoryBudgetTest {
+    private static final int KB = 1024;
+
+    @Test
+    void shouldReserveExpandedFileSize() throws InterruptedException {
+        MemoryBudget budget = new MemoryBudget(100 * KB, 8);
+
+        int reservation = budget.reserve(10 * KB);
+        assertThat(budget.getReserved()).isEqualTo(80 * KB);
+
+        budget.release(reservation);
+        assertThat(budget.getReserved()).isZero();
+    }
+
+    @Test
+    void shouldLimitReservationOfLargeFilesToBudget() throws InterruptedException {
+        MemoryBudget budget = new MemoryBudget(100 * KB, 8);
+
+        int reservation = budget.reserve(1000 * KB);
+        assertThat(budget.getReserved()).isEqualTo(100 * KB);
+
+        budget.release(reservation);
+        assertThat(budget.getReserved()).isZero();
+    }
+
+    @Test
+    void shouldWaitUntilMemoryIsReleased() throws Exception {
+        MemoryBudget budget = new MemoryBudget(100 * KB, 1);
+        int first = budget.reserve(60 * KB);
+
+        CompletableFuture<Integer> second = CompletableFuture.supplyAsync(() -> {
+            try {
+                return budget.reserve(60 * KB);
+            }
+            catch (InterruptedException exception) {
+                throw new IllegalStateException(exception);
+            }
+        });
+        Thread.sleep(100);
+        assertThat(second).isNotDone();
+
+        budget.release(first);
+        assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo(60);
+        assertThat(budget.getReserved()).isEqualTo(60 * KB);
+    }
+}
@@ -0,0 +1,41 @@
+package edu.hm.hafner.java.ui;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.google.gson.Gson;
+
+import edu.hm.hafner.java.uc.IngestionRejectedException;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link IngestionRejectedHandler}.
+ */
+class IngestionRejectedHandlerTest {
+    @Test
+    void shouldRespondWithTooManyRequests() throws IOException {
+        IngestionRejectedHandler handler = new IngestionRejectedHandler(new JsonResponses(new Gson()));
+
+        ResponseEntity<StreamingResponseBody> response = handler.handleRejection(
+                new IngestionRejectedException(Duration.ofSeconds(30), new RejectedExecutionException()));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("30");
+        assertThat(response.getBody()).isNotNull();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+        assertThat(output.toString(StandardCharsets.UTF_8))
+                .isEqualTo("{\"error\":\"Too many uploads are waiting to be processed, retry after 30 seconds\"}");
+    }
+}
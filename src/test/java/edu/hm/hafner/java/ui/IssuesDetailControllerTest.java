@@ -1,12 +1,27 @@
 package edu.hm.hafner.java.ui;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.google.gson.Gson;
+
+import edu.hm.hafner.java.db.IssueProperty;
+import edu.hm.hafner.java.db.IssueSummary;
 import edu.hm.hafner.java.uc.IssuePropertyDistribution;
+import edu.hm.hafner.java.uc.IssuesListing;
 import edu.hm.hafner.java.uc.IssuesService;
 
 import static org.assertj.core.api.Assertions.*;
@@ -32,7 +47,7 @@ class IssuesDetailControllerTest {
     @Test
     void shouldReturnJsonOfPropertiesDistribution() {
         IssuesService issuesService = mock(IssuesService.class);
-        IssuesDetailController controller = new IssuesDetailController(issuesService);
+        IssuesDetailController controller = new IssuesDetailController(issuesService, new JsonResponses(new Gson()));
 
         when(issuesService.createDistributionByCategory(ORIGIN_CATEGORY, REFERENCE_CATEGORY))
                 .thenReturn(EMPTY_DISTRIBUTION);
@@ -51,16 +66,66 @@ class IssuesDetailControllerTest {
         assertThatResponseContainsOneElement(controller.getTypes(ORIGIN_TYPE, REFERENCE_TYPE));
     }
 
-    private void assertThatResponseContainsOneElement(final ResponseEntity<?> categories) {
+    @Test
+    void shouldReturnJsonOfAllPropertiesDistributions() {
+        IssuesService issuesService = mock(IssuesService.class);
+        IssuesDetailController controller = new IssuesDetailController(issuesService, new JsonResponses(new Gson()));
+
+        Map<String, IssuePropertyDistribution> distributions = new LinkedHashMap<>();
+        distributions.put("category", SINGLETON_DISTRIBUTION);
+        distributions.put("type", EMPTY_DISTRIBUTION);
+        when(issuesService.createDistributions(ORIGIN_CATEGORY, REFERENCE_CATEGORY, Collections.emptyList()))
+                .thenReturn(distributions);
+
+        assertThatResponseIsEqualTo(controller.getDetails(ORIGIN_CATEGORY, REFERENCE_CATEGORY, Collections.emptyList()),
+                "{\"category\":{\"labels\":[\"label\"],\"datasets\":[{\"data\":[1]}]},"
+                        + "\"type\":{\"labels\":[],\"datasets\":[{\"data\":[]}]}}");
+    }
+
+    @Test
+    void shouldUseRequestParametersOfIssuePropertiesAsFilters() {
+        IssuesService issuesService = mock(IssuesService.class);
+        IssuesDetailController controller = new IssuesDetailController(issuesService, new JsonResponses(new Gson()));
+
+        Map<IssueProperty, String> filters = new EnumMap<>(IssueProperty.class);
+        filters.put(IssueProperty.CATEGORY, "Design");
+        filters.put(IssueProperty.MODULE_NAME, "core");
+        when(issuesService.listIssues(12, filters, 4711, 1)).thenReturn(new IssuesListing(Collections.singletonList(
+                new IssueSummary(4712, "HIGH", "Design", "GodClass", "edu.hm", "core", "A.java", 1, 2, "Message")),
+                true));
+
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("category", "Design");
+        parameters.put("moduleName", "core");
+        parameters.put("after", "4711");
+        parameters.put("size", "1");
+        assertThatResponseIsEqualTo(controller.listReportIssues(12, 4711, 1, parameters),
+                "{\"issues\":[{\"id\":4712,\"severity\":\"HIGH\",\"category\":\"Design\","
+                        + "\"type\":\"GodClass\",\"packageName\":\"edu.hm\",\"moduleName\":\"core\","
+                        + "\"fileName\":\"A.java\",\"lineStart\":1,\"lineEnd\":2,\"message\":\"Message\"}],"
+                        + "\"next\":4712}");
+    }
+
+    private void assertThatResponseContainsOneElement(final ResponseEntity<StreamingResponseBody> categories) {
         assertThatResponseIsEqualTo(categories, "{\"labels\":[\"label\"],\"datasets\":[{\"data\":[1]}]}");
     }
 
-    private void assertThatResponseIsEmpty(final ResponseEntity<?> empty) {
+    private void assertThatResponseIsEmpty(final ResponseEntity<StreamingResponseBody> empty) {
         assertThatResponseIsEqualTo(empty, "{\"labels\":[],\"datasets\":[{\"data\":[]}]}");
     }
 
-    private void assertThatResponseIsEqualTo(final ResponseEntity<?> empty, final String s) {
+    private void assertThatResponseIsEqualTo(final ResponseEntity<StreamingResponseBody> empty, final String s) {
         assertThat(empty.getStatusCode()).isEqualTo(HttpStatus.OK);
-        assertThat(empty.getBody()).isEqualTo(s);
+        assertThat(empty.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(empty.getBody()).isNotNull();
+
+        try {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            empty.getBody().writeTo(output);
+            assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(s);
+        }
+        catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
     }
 }
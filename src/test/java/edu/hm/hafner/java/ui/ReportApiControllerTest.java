@@ -0,0 +1,73 @@
+package edu.hm.hafner.java.ui;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.google.gson.Gson;
+
+import edu.hm.hafner.java.uc.IngestionJob;
+import edu.hm.hafner.java.uc.IngestionService;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the class {@link ReportApiController}.
+ */
+class ReportApiControllerTest {
+    private static final String CONTENT = "<pmd/>";
+    private static final IngestionJob JOB = new IngestionJob("42", "pmd", "build-1");
+
+    @Test
+    void shouldSpoolBodyAndSubmitJob() throws IOException {
+        IngestionService ingestionService = mock(IngestionService.class);
+        when(ingestionService.submit(eq("pmd"), eq("build-1"), eq("build-1"), any(Path.class))).thenAnswer(
+                invocation -> {
+                    assertThat(invocation.<Path>getArgument(3)).hasContent(CONTENT);
+                    Files.delete(invocation.getArgument(3));
+                    return JOB;
+                });
+        ReportApiController controller = new ReportApiController(ingestionService, new JsonResponses(new Gson()));
+
+        ResponseEntity<StreamingResponseBody> response = controller.upload("pmd", "build-1",
+                new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(response.getHeaders().getLocation()).isEqualTo(URI.create("/api/jobs/42"));
+        assertThat(toString(response)).startsWith("{\"id\":\"42\",\"tool\":\"pmd\",\"reference\":\"build-1\"");
+        verify(ingestionService).submit(eq("pmd"), eq("build-1"), eq("build-1"), any(Path.class));
+    }
+
+    @Test
+    void shouldReturnStateOfJob() throws IOException {
+        IngestionService ingestionService = mock(IngestionService.class);
+        when(ingestionService.getJob("42")).thenReturn(Optional.of(JOB));
+        ReportApiController controller = new ReportApiController(ingestionService, new JsonResponses(new Gson()));
+
+        ResponseEntity<StreamingResponseBody> response = controller.getJob("42");
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(toString(response)).contains("\"state\":\"QUEUED\"");
+
+        assertThat(controller.getJob("unknown").getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    private String toString(final ResponseEntity<StreamingResponseBody> response) throws IOException {
+        assertThat(response.getBody()).isNotNull();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+}
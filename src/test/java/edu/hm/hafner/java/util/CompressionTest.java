@@ -0,0 +1,99 @@
+package edu.hm.hafner.java.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.airlift.compress.zstd.ZstdCompressor;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link Compression}.
+ */
+class CompressionTest {
+    private static final byte[] CONTENT = "<?xml version=\"1.0\"?>\n<pmd/>\n".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    private Path folder;
+
+    @Test
+    void shouldReadUncompressedContent() throws IOException {
+        assertThat(Compression.detect(CONTENT)).isEqualTo(Compression.NONE);
+        assertThat(Compression.detect(new byte[0])).isEqualTo(Compression.NONE);
+        assertThat(decompress(CONTENT)).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void shouldDecompressGzip() throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream output = new GZIPOutputStream(compressed)) {
+            output.write(CONTENT);
+        }
+
+        assertThat(Compression.detect(compressed.toByteArray())).isEqualTo(Compression.GZIP);
+        assertThat(decompress(compressed.toByteArray())).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void shouldDecompressZstd() throws IOException {
+        ZstdCompressor compressor = new ZstdCompressor();
+        byte[] buffer = new byte[compressor.maxCompressedLength(CONTENT.length)];
+        int size = compressor.compress(CONTENT, 0, CONTENT.length, buffer, 0, buffer.length);
+        byte[] compressed = Arrays.copyOf(buffer, size);
+
+        assertThat(Compression.detect(compressed)).isEqualTo(Compression.ZSTD);
+        assertThat(decompress(compressed)).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void shouldReadFirstFileOfZipArchive() throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (ZipOutputStream output = new ZipOutputStream(compressed)) {
+            output.putNextEntry(new ZipEntry("reports/"));
+            output.putNextEntry(new ZipEntry("reports/pmd.xml"));
+            output.write(CONTENT);
+        }
+
+        assertThat(Compression.detect(compressed.toByteArray())).isEqualTo(Compression.ZIP);
+        assertThat(decompress(compressed.toByteArray())).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void shouldRejectEmptyZipArchive() throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (ZipOutputStream output = new ZipOutputStream(compressed)) {
+            output.putNextEntry(new ZipEntry("reports/"));
+        }
+
+        assertThatExceptionOfType(ZipException.class).isThrownBy(() -> decompress(compressed.toByteArray()));
+    }
+
+    @Test
+    void shouldDetectCompressionOfFile() throws IOException {
+        Path file = Files.createTempFile(folder, "upload-", ".report");
+        try (GZIPOutputStream output = new GZIPOutputStream(Files.newOutputStream(file))) {
+            output.write(CONTENT);
+        }
+
+        assertThat(Compression.detect(file)).isEqualTo(Compression.GZIP);
+    }
+
+    private byte[] decompress(final byte[] content) throws IOException {
+        try (InputStream input = Compression.decompressDetected(new ByteArrayInputStream(content))) {
+            return input.readAllBytes();
+        }
+    }
+}
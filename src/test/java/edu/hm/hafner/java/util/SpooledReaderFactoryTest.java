@@ -0,0 +1,102 @@
+package edu.hm.hafner.java.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link SpooledReaderFactory}.
+ */
+class SpooledReaderFactoryTest {
+    private static final String CONTENT = "<?xml version=\"1.0\"?>\n<pmd>Gr\u00f6\u00dfe</pmd>\n";
+    private static final String LATIN_CONTENT
+            = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>\n<pmd>Gr\u00f6\u00dfe</pmd>\n";
+
+    @TempDir
+    private Path folder;
+
+    @Test
+    void shouldUseDefaultCharsetWithoutCharsetInformation() throws IOException {
+        SpooledReaderFactory factory = create(CONTENT.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(factory.getFileName()).isEqualTo("pmd.xml");
+        assertThat(factory.getCharset()).isEqualTo(StandardCharsets.UTF_8);
+        assertThat(read(factory)).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void shouldReadContentSeveralTimes() throws IOException {
+        SpooledReaderFactory factory = create(CONTENT.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(read(factory)).isEqualTo(CONTENT);
+        assertThat(read(factory)).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void shouldDetectCharsetOfXmlDeclaration() throws IOException {
+        SpooledReaderFactory factory = create(LATIN_CONTENT.getBytes(StandardCharsets.ISO_8859_1));
+
+        assertThat(factory.getCharset()).isEqualTo(StandardCharsets.ISO_8859_1);
+        assertThat(read(factory)).isEqualTo(LATIN_CONTENT);
+    }
+
+    @Test
+    void shouldIgnoreUnknownCharsetOfXmlDeclaration() throws IOException {
+        SpooledReaderFactory factory = create(
+                "<?xml version=\"1.0\" encoding=\"unknown\"?>".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(factory.getCharset()).isEqualTo(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void shouldDetectAndSkipByteOrderMark() throws IOException {
+        assertThatByteOrderMarkIsDetected(StandardCharsets.UTF_8, new byte[] {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF});
+        assertThatByteOrderMarkIsDetected(StandardCharsets.UTF_16BE, new byte[] {(byte) 0xFE, (byte) 0xFF});
+        assertThatByteOrderMarkIsDetected(StandardCharsets.UTF_16LE, new byte[] {(byte) 0xFF, (byte) 0xFE});
+    }
+
+    @Test
+    void shouldReadEmptyFile() throws IOException {
+        SpooledReaderFactory factory = create(new byte[0]);
+
+        assertThat(read(factory)).isEmpty();
+    }
+
+    private void assertThatByteOrderMarkIsDetected(final Charset charset, final byte[] byteOrderMark)
+            throws IOException {
+        byte[] content = CONTENT.getBytes(charset);
+        byte[] file = new byte[byteOrderMark.length + content.length];
+        System.arraycopy(byteOrderMark, 0, file, 0, byteOrderMark.length);
+        System.arraycopy(content, 0, file, byteOrderMark.length, content.length);
+
+        SpooledReaderFactory factory = create(file);
+
+        assertThat(factory.getCharset()).isEqualTo(charset);
+        assertThat(read(factory)).isEqualTo(CONTENT);
+    }
+
+    private String read(final SpooledReaderFactory factory) throws IOException {
+        StringBuilder content = new StringBuilder();
+        try (Reader reader = factory.create()) {
+            char[] buffer = new char[16];
+            for (int count = reader.read(buffer); count >= 0; count = reader.read(buffer)) {
+                content.append(buffer, 0, count);
+            }
+        }
+        return content.toString();
+    }
+
+    private SpooledReaderFactory create(final byte[] content) throws IOException {
+        Path file = Files.createTempFile(folder, "upload-", ".report");
+        Files.write(file, content);
+        return new SpooledReaderFactory(file, "pmd.xml", StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,19 @@
+-- The schema of the former create.sql, databases with this schema are baselined at V1 by Flyway
+create schema analysis;
+create table analysis.issues (id  serial not null, category varchar(255), column_end int4 not null, column_start int4 not null, description varchar(255), file_name varchar(255), fingerprint varchar(255), line_end int4 not null, line_start int4 not null, message varchar(1024), module_name varchar(255), origin varchar(255), origin_name varchar(255), package_name varchar(255), reference varchar(255), severity varchar(255), type varchar(255), issues_id int4, primary key (id));
+create table analysis.report (id  serial not null, origin_report_file varchar(255), tool_id varchar(255), tool_name varchar(255), primary key (id));
+alter table analysis.issues add constraint FKk0dfx57gfkq6nrj48qsnqd6rp foreign key (issues_id) references analysis.report;
+
+-- The older upload of the same report is moved to the archive tables by V2
+insert into analysis.report (origin_report_file, tool_id, tool_name) values ('report-0', 'pmd', 'PMD');
+insert into analysis.issues (issues_id, category, type, severity, file_name, package_name, module_name, message,
+        line_start, line_end, column_start, column_end)
+    select 1, 'Design', 'Type', 'HIGH', 'Old' || i || '.java', 'edu.hm.hafner', '-', 'Message ' || i, i, i, 0, 0
+    from generate_series(1, 3) i;
+
+insert into analysis.report (origin_report_file, tool_id, tool_name) values ('report-0', 'pmd', 'PMD');
+insert into analysis.issues (issues_id, category, type, severity, file_name, package_name, module_name, message,
+        line_start, line_end, column_start, column_end)
+    select 2, 'Design', 'Type' || i % 3, 'NORMAL', 'Class' || i || '.java', 'edu.hm.hafner', '-', 'Message ' || i,
+        i, i, 0, 0
+    from generate_series(1, 120) i;